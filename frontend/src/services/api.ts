@@ -44,6 +44,25 @@ api.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
+// Refresh tokens are single use, so requests that hit a 401 together share one refresh call
+let refreshInFlight: Promise<TokenRefreshResponse> | null = null;
+
+const refreshTokens = (refreshToken: string): Promise<TokenRefreshResponse> => {
+  if (!refreshInFlight) {
+    refreshInFlight = axios
+      .post<TokenRefreshResponse>('http://localhost:8080/api/v1/auth/refreshtoken', { refreshToken })
+      .then((response) => {
+        setToken(response.data.accessToken);
+        setRefreshToken(response.data.refreshToken);
+        return response.data;
+      })
+      .finally(() => {
+        refreshInFlight = null;
+      });
+  }
+  return refreshInFlight;
+};
+
 // Response interceptor for handling token refresh
 api.interceptors.response.use(
   (response: AxiosResponse) => response,
@@ -62,19 +81,12 @@ api.interceptors.response.use(
           return Promise.reject(error);
         }
         
-        // Try to refresh the token
-        const response = await axios.post<TokenRefreshResponse>(
-          'http://localhost:8080/api/v1/auth/refreshtoken',
-          { refreshToken }
-        );
-        
-        // Save new tokens
-        setToken(response.data.accessToken);
-        setRefreshToken(response.data.refreshToken);
+        // Try to refresh the token, joining a refresh another request already started
+        const tokens = await refreshTokens(refreshToken);
         
         // Retry the original request with new token
         if (originalRequest.headers) {
-          originalRequest.headers['Authorization'] = `Bearer ${response.data.accessToken}`;
+          originalRequest.headers['Authorization'] = `Bearer ${tokens.accessToken}`;
         }
         
         return axios(originalRequest);
@@ -15,6 +15,8 @@ export const workOrderService = {
       size, 
       sortBy, 
       sortDir, 
+      // The table only needs an approximate total for its pager
+      count: 'estimated',
       ...filters 
     };
     
@@ -39,6 +41,16 @@ export const workOrderService = {
     return api.put<ApiResponse<WorkOrder>>(`/api/work-orders/${id}`, workOrder);
   },
   
+  // Sends only the changed fields; the version makes the server reject the patch if someone else saved first
+  patchWorkOrder: async (id: number, changes: Partial<WorkOrderRequest>, version?: number) => {
+    return api.patch<ApiResponse<WorkOrder>>(`/api/work-orders/${id}`, changes, {
+      headers: {
+        'Content-Type': 'application/merge-patch+json',
+        ...(version !== undefined ? { 'If-Match': `"${id}-${version}"` } : {})
+      }
+    });
+  },
+  
   deleteWorkOrder: async (id: number) => {
     return api.delete<ApiResponse<void>>(`/api/work-orders/${id}`);
   },
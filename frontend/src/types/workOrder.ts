@@ -19,6 +19,7 @@ export interface WorkOrder {
   user?: User;
   createdAt: string;
   updatedAt: string;
+  version: number;
 }
 
 export interface WorkOrderStats {
@@ -0,0 +1,147 @@
+package com.tripzin.techminds.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.tripzin.techminds.entity.ERole;
+import com.tripzin.techminds.entity.Permission;
+import com.tripzin.techminds.entity.Role;
+import com.tripzin.techminds.entity.User;
+import com.tripzin.techminds.entity.WorkOrder;
+import com.tripzin.techminds.repository.RoleRepository;
+import com.tripzin.techminds.security.jwt.JwtUtils;
+import com.tripzin.techminds.security.services.RoleAuthorityRegistry;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entities and beans shaped like the ones the request paths see, built without a Spring context.
+ */
+final class BenchmarkFixtures {
+    
+    static final String JWT_SECRET = "dGVjaG1pbmRzLXNlY3JldC1rZXktZm9yLWp3dC10b2tlbi1zaWduaW5n";
+    
+    private BenchmarkFixtures() {
+    }
+    
+    static JwtUtils jwtUtils(int verifiedCacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtAccessExpirationMs", 900_000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtRefreshExpirationMs", 604_800_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", verifiedCacheSize);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils;
+    }
+    
+    static RoleAuthorityRegistry roleAuthorityRegistry() {
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(userRole(), moderatorRole(), adminRole()));
+        RoleAuthorityRegistry registry = new RoleAuthorityRegistry(roleRepository);
+        registry.reload();
+        return registry;
+    }
+    
+    /**
+     * The same ObjectMapper settings Spring Boot applies to MVC responses.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+    
+    /**
+     * Configured like {@link #objectMapper()}, writing CBOR as the application's CBOR converter does.
+     */
+    static ObjectMapper cborMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(new CBORFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+    
+    static Role role(long id, ERole name, String... permissionNames) {
+        Set<Permission> permissions = new HashSet<>();
+        for (int i = 0; i < permissionNames.length; i++) {
+            permissions.add(Permission.builder()
+                    .id(id * 10 + i)
+                    .name(permissionNames[i])
+                    .description(permissionNames[i])
+                    .build());
+        }
+        return Role.builder()
+                .id(id)
+                .name(name)
+                .description(name.name())
+                .permissions(permissions)
+                .build();
+    }
+    
+    static User user(long id, Role... roles) {
+        return User.builder()
+                .id(id)
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .email("user" + id + "@techminds.com")
+                .phone("+1555000" + id)
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3g9QeDv1Tx1ZQ5Q4J2q4r2K")
+                .emailVerified(true)
+                .accountVerified(true)
+                .roles(new HashSet<>(List.of(roles)))
+                .createdAt(LocalDateTime.of(2025, 1, 1, 9, 0))
+                .updatedAt(LocalDateTime.of(2025, 1, 2, 9, 0))
+                .build();
+    }
+    
+    static Role adminRole() {
+        return role(3, ERole.ROLE_ADMIN, "READ_USER", "WRITE_USER", "DELETE_USER", "MANAGE_ROLES", "VERIFY_USERS");
+    }
+    
+    static Role moderatorRole() {
+        return role(2, ERole.ROLE_MODERATOR, "READ_USER", "WRITE_USER", "VERIFY_USERS");
+    }
+    
+    static Role userRole() {
+        return role(1, ERole.ROLE_USER, "READ_USER");
+    }
+    
+    static List<WorkOrder> workOrders(int count) {
+        User assignee = user(7, userRole());
+        List<WorkOrder> workOrders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            workOrders.add(WorkOrder.builder()
+                    .id((long) i + 1)
+                    .woNumber("WO-" + (100_000 + i))
+                    .workType("Grass Cut")
+                    .client("Client " + (i % 17))
+                    .photoCount(12)
+                    .state("TX")
+                    .clientDueDate(LocalDate.of(2025, 3, 1).plusDays(i % 30))
+                    .updater("updater" + (i % 5))
+                    .orderStatus(i % 3 == 0 ? "Submitted" : "Saved")
+                    .remarkCategory("Completed as requested")
+                    .startTime(LocalDateTime.of(2025, 3, 1, 8, 0))
+                    .endTime(LocalDateTime.of(2025, 3, 1, 9, 30))
+                    .numberOfBids(2)
+                    .bidAmount(new BigDecimal("125.50"))
+                    .isRush(i % 7 == 0)
+                    .user(assignee)
+                    .createdAt(LocalDateTime.of(2025, 2, 28, 10, 0))
+                    .updatedAt(LocalDateTime.of(2025, 3, 1, 10, 0))
+                    .build());
+        }
+        return workOrders;
+    }
+}
@@ -0,0 +1,78 @@
+package com.tripzin.techminds.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripzin.techminds.dto.UserDTO;
+import com.tripzin.techminds.dto.response.RoleDTO;
+import com.tripzin.techminds.dto.response.WorkOrderResponse;
+import com.tripzin.techminds.entity.Role;
+import com.tripzin.techminds.entity.User;
+import com.tripzin.techminds.entity.WorkOrder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and JSON serialization of a work-order page as returned by GET /api/work-orders.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+    
+    @Param({"10", "50"})
+    public int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private WorkOrder workOrder;
+    private User user;
+    private Role role;
+    private List<WorkOrder> workOrders;
+    private Page<WorkOrderResponse> page;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        workOrders = BenchmarkFixtures.workOrders(pageSize);
+        workOrder = workOrders.get(0);
+        role = BenchmarkFixtures.adminRole();
+        user = BenchmarkFixtures.user(1, role);
+        page = mapPage();
+    }
+    
+    @Benchmark
+    public WorkOrderResponse workOrderResponseFromEntity() {
+        return WorkOrderResponse.fromEntity(workOrder);
+    }
+    
+    @Benchmark
+    public UserDTO userDtoFromEntity() {
+        return UserDTO.fromEntity(user);
+    }
+    
+    @Benchmark
+    public RoleDTO roleDtoFromEntity() {
+        return RoleDTO.fromEntity(role);
+    }
+    
+    @Benchmark
+    public Page<WorkOrderResponse> mapWorkOrderPage() {
+        return mapPage();
+    }
+    
+    @Benchmark
+    public byte[] serializeWorkOrderPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+    
+    private Page<WorkOrderResponse> mapPage() {
+        return new PageImpl<>(workOrders, PageRequest.of(0, pageSize), 10_000)
+                .map(WorkOrderResponse::fromEntity);
+    }
+}
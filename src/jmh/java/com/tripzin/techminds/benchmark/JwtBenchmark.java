@@ -0,0 +1,48 @@
+package com.tripzin.techminds.benchmark;
+
+import com.tripzin.techminds.security.jwt.JwtUtils;
+import com.tripzin.techminds.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification, which run on login/refresh and on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    
+    private JwtUtils cachingJwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private UserDetailsImpl principal;
+    private String accessToken;
+    
+    @Setup
+    public void setUp() {
+        cachingJwtUtils = BenchmarkFixtures.jwtUtils(10_000);
+        uncachedJwtUtils = BenchmarkFixtures.jwtUtils(0);
+        principal = UserDetailsImpl.build(BenchmarkFixtures.user(1, BenchmarkFixtures.adminRole()),
+                BenchmarkFixtures.roleAuthorityRegistry());
+        accessToken = cachingJwtUtils.generateAccessToken(principal);
+    }
+    
+    @Benchmark
+    public String generateAccessToken() {
+        return cachingJwtUtils.generateAccessToken(principal);
+    }
+    
+    @Benchmark
+    public boolean validateJwtToken() {
+        return uncachedJwtUtils.validateJwtToken(accessToken);
+    }
+    
+    @Benchmark
+    public boolean validateJwtTokenCached() {
+        return cachingJwtUtils.validateJwtToken(accessToken);
+    }
+}
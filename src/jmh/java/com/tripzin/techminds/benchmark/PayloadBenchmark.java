@@ -0,0 +1,90 @@
+package com.tripzin.techminds.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.tripzin.techminds.dto.response.WorkOrderResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding and decoding a work-order listing as JSON (the default), CBOR and NDJSON. Setup prints the
+ * payload size of each encoding, raw and gzipped, for the page size being measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadBenchmark {
+    
+    @Param({"100", "1000"})
+    public int pageSize;
+    
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private Page<WorkOrderResponse> page;
+    private byte[] json;
+    private byte[] cbor;
+    
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = BenchmarkFixtures.objectMapper();
+        cborMapper = BenchmarkFixtures.cborMapper();
+        page = new PageImpl<>(BenchmarkFixtures.workOrders(pageSize), PageRequest.of(0, pageSize), 100_000)
+                .map(WorkOrderResponse::fromEntity);
+        
+        json = writeJson();
+        cbor = writeCbor();
+        byte[] ndjson = writeNdjson();
+        System.out.printf("%n%d rows: json %d B (gzip %d B), cbor %d B (gzip %d B), ndjson %d B (gzip %d B)%n",
+                pageSize, json.length, gzipped(json), cbor.length, gzipped(cbor), ndjson.length, gzipped(ndjson));
+    }
+    
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public byte[] writeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public byte[] writeNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SequenceWriter writer = jsonMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            for (WorkOrderResponse row : page) {
+                writer.write(row);
+            }
+        }
+        return out.toByteArray();
+    }
+    
+    @Benchmark
+    public JsonNode readJson() throws IOException {
+        return jsonMapper.readTree(json);
+    }
+    
+    @Benchmark
+    public JsonNode readCbor() throws IOException {
+        return cborMapper.readTree(cbor);
+    }
+    
+    private static int gzipped(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.tripzin.techminds.benchmark;
+
+import com.tripzin.techminds.entity.User;
+import com.tripzin.techminds.security.services.RoleAuthorityRegistry;
+import com.tripzin.techminds.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Principal construction, done for every login, refresh and database-backed authentication.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrincipalBenchmark {
+    
+    private RoleAuthorityRegistry roleAuthorities;
+    private User singleRoleUser;
+    private User multiRoleUser;
+    
+    @Setup
+    public void setUp() {
+        roleAuthorities = BenchmarkFixtures.roleAuthorityRegistry();
+        singleRoleUser = BenchmarkFixtures.user(1, BenchmarkFixtures.userRole());
+        multiRoleUser = BenchmarkFixtures.user(2, BenchmarkFixtures.userRole(), BenchmarkFixtures.adminRole());
+    }
+    
+    @Benchmark
+    public UserDetailsImpl buildSingleRole() {
+        return UserDetailsImpl.build(singleRoleUser, roleAuthorities);
+    }
+    
+    @Benchmark
+    public UserDetailsImpl buildMultiRole() {
+        return UserDetailsImpl.build(multiRoleUser, roleAuthorities);
+    }
+}
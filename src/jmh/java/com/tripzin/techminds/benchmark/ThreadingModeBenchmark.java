@@ -0,0 +1,74 @@
+package com.tripzin.techminds.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two request-handling modes on an I/O-bound workload: Tomcat's default pool of
+ * 200 platform threads against one virtual thread per request. Each simulated request blocks
+ * for {@code blockingMillis}, standing in for a JDBC round trip or an SMTP send.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ThreadingModeBenchmark {
+    
+    private static final int TOMCAT_MAX_THREADS = 200;
+    
+    @Param({"200", "2000"})
+    public int concurrentRequests;
+    
+    @Param({"10"})
+    public int blockingMillis;
+    
+    private ExecutorService platformPool;
+    private ExecutorService virtualThreads;
+    
+    @Setup
+    public void setUp() {
+        platformPool = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        platformPool.shutdownNow();
+        virtualThreads.shutdownNow();
+    }
+    
+    @Benchmark
+    public long platformThreads() throws Exception {
+        return handleAll(platformPool);
+    }
+    
+    @Benchmark
+    public long virtualThreads() throws Exception {
+        return handleAll(virtualThreads);
+    }
+    
+    private long handleAll(ExecutorService executor) throws Exception {
+        List<Future<Long>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            long requestId = i;
+            responses.add(executor.submit(() -> {
+                Thread.sleep(blockingMillis);
+                return requestId;
+            }));
+        }
+        
+        long sum = 0;
+        for (Future<Long> response : responses) {
+            sum += response.get();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,21 @@
+package com.tripzin.techminds.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serves {@code application/cbor} to clients that ask for it, a binary encoding of the same documents
+ * as the JSON responses that is smaller and cheaper to parse.
+ */
+@Configuration
+public class MessageConverterConfig {
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        // Built from Boot's builder so the spring.jackson settings apply to CBOR exactly as they do to JSON
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
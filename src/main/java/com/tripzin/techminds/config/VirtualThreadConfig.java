@@ -0,0 +1,38 @@
+package com.tripzin.techminds.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extra wiring for spring.threads.virtual.enabled=true. Spring Boot already moves Tomcat request
+ * handling onto virtual threads; this keeps the database from being overrun by them.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+    
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                int configured = environment.getProperty("app.datasource.max-concurrency", Integer.class, 0);
+                int maxConcurrency = configured > 0 ? configured
+                        : dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                Duration acquireTimeout = environment.getProperty("app.datasource.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout);
+            }
+        };
+    }
+}
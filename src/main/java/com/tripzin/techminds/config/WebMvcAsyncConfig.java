@@ -0,0 +1,90 @@
+package com.tripzin.techminds.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Executor and timeout for asynchronous MVC responses such as streamed exports. Exports are admitted
+ * by {@code WorkOrderExportService} before they reach the executor, so it always has room for them.
+ */
+@Configuration
+public class WebMvcAsyncConfig implements WebMvcConfigurer {
+    
+    private final AsyncTaskExecutor streamingExecutor;
+    private final Duration timeout;
+    
+    public WebMvcAsyncConfig(@Qualifier("streamingExecutor") AsyncTaskExecutor streamingExecutor,
+                             @Value("${app.streaming.timeout:30m}") Duration timeout) {
+        this.streamingExecutor = streamingExecutor;
+        this.timeout = timeout;
+    }
+    
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+    
+    @Configuration
+    static class StreamingExecutorConfig {
+        
+        @Bean(name = "streamingExecutor")
+        @ConditionalOnThreading(Threading.PLATFORM)
+        public AsyncTaskExecutor streamingExecutor(@Value("${app.streaming.concurrency:4}") int concurrency) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(concurrency);
+            executor.setMaxPoolSize(concurrency);
+            executor.setQueueCapacity(concurrency * 4);
+            executor.setThreadNamePrefix("Streaming-");
+            executor.initialize();
+            return executor;
+        }
+        
+        @Bean(name = "streamingExecutor")
+        @ConditionalOnThreading(Threading.VIRTUAL)
+        public AsyncTaskExecutor virtualStreamingExecutor() {
+            // No concurrency limit: it would block the request thread instead of rejecting
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Streaming-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        
+        /**
+         * Writes queued server-sent events to subscribers. A subscriber has at most one drain task queued,
+         * so the queue is bounded by the subscriber limit.
+         */
+        @Bean(name = "sseDispatchExecutor")
+        @ConditionalOnThreading(Threading.PLATFORM)
+        public AsyncTaskExecutor sseDispatchExecutor(
+                @Value("${app.streaming.sse.dispatch-threads:2}") int threads,
+                @Value("${app.streaming.sse.max-subscribers:1000}") int maxSubscribers) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(threads);
+            executor.setMaxPoolSize(threads);
+            executor.setQueueCapacity(maxSubscribers);
+            executor.setThreadNamePrefix("SseDispatch-");
+            executor.initialize();
+            return executor;
+        }
+        
+        @Bean(name = "sseDispatchExecutor")
+        @ConditionalOnThreading(Threading.VIRTUAL)
+        public AsyncTaskExecutor virtualSseDispatchExecutor() {
+            // A write blocked on a slow client only parks its own virtual thread
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("SseDispatch-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.tripzin.techminds.controller;
+
+import com.tripzin.techminds.dto.response.PrincipalCacheStats;
+import com.tripzin.techminds.security.services.PrincipalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+    
+    private final PrincipalCache principalCache;
+    
+    @GetMapping("/principal-cache")
+    public ResponseEntity<PrincipalCacheStats> getPrincipalCacheStats() {
+        return ResponseEntity.ok(principalCache.stats());
+    }
+}
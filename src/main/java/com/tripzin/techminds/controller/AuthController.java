@@ -8,10 +8,15 @@ import com.tripzin.techminds.dto.request.TokenRefreshRequest;
 import com.tripzin.techminds.dto.response.JwtResponse;
 import com.tripzin.techminds.dto.response.MessageResponse;
 import com.tripzin.techminds.dto.response.TokenRefreshResponse;
+import com.tripzin.techminds.security.ratelimit.AuthRateLimiter;
+import com.tripzin.techminds.security.services.UserDetailsImpl;
 import com.tripzin.techminds.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -20,22 +25,37 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
     
     private final AuthService authService;
+    private final AuthRateLimiter rateLimiter;
     
     @PostMapping("/login")
-    public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest httpRequest) {
+        rateLimiter.check("login", httpRequest, loginRequest.getUsername());
         return ResponseEntity.ok(authService.authenticateUser(loginRequest));
     }
     
     @PostMapping("/register")
-    public ResponseEntity<MessageResponse> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+    public ResponseEntity<MessageResponse> registerUser(@Valid @RequestBody SignupRequest signUpRequest, HttpServletRequest httpRequest) {
+        rateLimiter.check("register", httpRequest, signUpRequest.getEmail());
         return ResponseEntity.ok(authService.registerUser(signUpRequest));
     }
     
     @PostMapping("/refresh-token")
-    public ResponseEntity<TokenRefreshResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+    public ResponseEntity<TokenRefreshResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest request, HttpServletRequest httpRequest) {
+        rateLimiter.check("refresh-token", httpRequest, null);
         return ResponseEntity.ok(authService.refreshToken(request));
     }
     
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(@Valid @RequestBody TokenRefreshRequest request) {
+        return ResponseEntity.ok(authService.logout(request));
+    }
+    
+    @PostMapping("/logout-all")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<MessageResponse> logoutAllDevices(@AuthenticationPrincipal UserDetailsImpl currentUser) {
+        return ResponseEntity.ok(authService.logoutAllDevices(currentUser.getId()));
+    }
+    
     @PostMapping("/verify-email")
     public ResponseEntity<MessageResponse> verifyEmail(@Valid @RequestBody EmailVerificationRequest request) {
         return ResponseEntity.ok(authService.verifyEmail(request.getToken()));
@@ -47,7 +67,8 @@ public class AuthController {
     }
     
     @PostMapping("/resend-verification")
-    public ResponseEntity<MessageResponse> resendVerificationEmail(@Valid @RequestBody ResendVerificationRequest request) {
+    public ResponseEntity<MessageResponse> resendVerificationEmail(@Valid @RequestBody ResendVerificationRequest request, HttpServletRequest httpRequest) {
+        rateLimiter.check("resend-verification", httpRequest, request.getEmail());
         return ResponseEntity.ok(authService.resendVerificationEmail(request.getEmail()));
     }
 }
@@ -3,8 +3,10 @@ package com.tripzin.techminds.controller;
 import com.tripzin.techminds.dto.response.MessageResponse;
 import com.tripzin.techminds.dto.response.PermissionDTO;
 import com.tripzin.techminds.entity.Permission;
+import com.tripzin.techminds.event.RolePermissionsChangedEvent;
 import com.tripzin.techminds.repository.PermissionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +22,9 @@ public class PermissionController {
     @Autowired
     private PermissionRepository permissionRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping
     public ResponseEntity<List<PermissionDTO>> getAllPermissions() {
         List<Permission> permissions = permissionRepository.findAll();
@@ -71,6 +76,7 @@ public class PermissionController {
         permission.setDescription(request.getDescription());
 
         permissionRepository.save(permission);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent());
 
         return ResponseEntity.ok(new MessageResponse("Permission updated successfully!"));
     }
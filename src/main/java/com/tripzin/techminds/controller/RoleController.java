@@ -5,9 +5,11 @@ import com.tripzin.techminds.dto.response.RoleDTO;
 import com.tripzin.techminds.entity.ERole;
 import com.tripzin.techminds.entity.Permission;
 import com.tripzin.techminds.entity.Role;
+import com.tripzin.techminds.event.RolePermissionsChangedEvent;
 import com.tripzin.techminds.repository.PermissionRepository;
 import com.tripzin.techminds.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +30,9 @@ public class RoleController {
     @Autowired
     private PermissionRepository permissionRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @GetMapping
     public ResponseEntity<List<RoleDTO>> getAllRoles() {
         List<Role> roles = roleRepository.findAll();
@@ -69,6 +74,7 @@ public class RoleController {
         role.setPermissions(permissions);
 
         roleRepository.save(role);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent());
 
         return ResponseEntity.ok(new MessageResponse("Role created successfully!"));
     }
@@ -102,6 +108,7 @@ public class RoleController {
         role.setPermissions(permissions);
 
         roleRepository.save(role);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent());
 
         return ResponseEntity.ok(new MessageResponse("Role updated successfully!"));
     }
@@ -118,6 +125,7 @@ public class RoleController {
         }
 
         roleRepository.delete(role);
+        eventPublisher.publishEvent(new RolePermissionsChangedEvent());
         return ResponseEntity.ok(new MessageResponse("Role deleted successfully!"));
     }
 
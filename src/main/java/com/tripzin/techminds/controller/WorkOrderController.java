@@ -1,17 +1,43 @@
 package com.tripzin.techminds.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tripzin.techminds.dto.request.CountMode;
+import com.tripzin.techminds.dto.request.WorkOrderBulkRequest;
 import com.tripzin.techminds.dto.request.WorkOrderRequest;
+import com.tripzin.techminds.dto.response.CursorPage;
 import com.tripzin.techminds.dto.response.MessageResponse;
+import com.tripzin.techminds.dto.response.WorkOrderAnalytics;
+import com.tripzin.techminds.dto.response.WorkOrderBulkResult;
+import com.tripzin.techminds.dto.response.WorkOrderImportReport;
 import com.tripzin.techminds.dto.response.WorkOrderResponse;
+import com.tripzin.techminds.dto.response.WorkOrderSearchResult;
 import com.tripzin.techminds.dto.response.WorkOrderStats;
+import com.tripzin.techminds.service.WorkOrderAnalyticsService;
+import com.tripzin.techminds.service.WorkOrderBulkService;
+import com.tripzin.techminds.service.WorkOrderEventStream;
+import com.tripzin.techminds.service.WorkOrderExportService;
+import com.tripzin.techminds.service.WorkOrderImportService;
 import com.tripzin.techminds.service.WorkOrderService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -19,30 +45,125 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class WorkOrderController {
     
+    /**
+     * Responses are private to the signed-in user and must be revalidated, so browsers keep them and send
+     * If-None-Match instead of refetching. Setting this also keeps Spring Security's no-store default off.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
     private final WorkOrderService workOrderService;
+    private final WorkOrderAnalyticsService analyticsService;
+    private final WorkOrderImportService importService;
+    private final WorkOrderBulkService bulkService;
+    private final WorkOrderExportService exportService;
+    private final WorkOrderEventStream eventStream;
     
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Page<WorkOrderResponse>> getAllWorkOrders(
+    public ResponseEntity<?> getAllWorkOrders(
+            @RequestParam(defaultValue = "offset") String paging,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir,
-            @RequestParam Map<String, String> params) {
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(required = false) String fields,
+            @RequestParam Map<String, String> params,
+            WebRequest webRequest) {
+        
+        // Tagged with the table's change generation, read before the query so a concurrent write can only make
+        // the tag older than the data, never newer
+        String etag = workOrderService.getCollectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
         
         // Remove pagination and sorting params from filters
         params.remove("page");
         params.remove("size");
         params.remove("sortBy");
         params.remove("sortDir");
+        params.remove("paging");
+        params.remove("cursor");
+        params.remove("count");
+        params.remove("fields");
         
-        return ResponseEntity.ok(workOrderService.getAllWorkOrders(page, size, sortBy, sortDir, params));
+        // Keyset mode returns a CursorPage with an opaque cursor for the next page and no total count
+        if ("keyset".equals(paging) || cursor != null) {
+            return tagged(etag, workOrderService.getWorkOrdersAfter(cursor, size, sortBy, sortDir, params, fields));
+        }
+        // A sparse fieldset returns maps holding only the requested keys
+        if (fields != null && !fields.isBlank()) {
+            return tagged(etag, workOrderService.getWorkOrderFields(
+                    page, size, sortBy, sortDir, params, CountMode.from(count), fields));
+        }
+        return tagged(etag, workOrderService.getAllWorkOrders(page, size, sortBy, sortDir, params, CountMode.from(count)));
+    }
+    
+    /**
+     * The line-delimited variant of the listing, chosen with {@code Accept: application/x-ndjson}: every
+     * matching work order, one JSON object per line in id order, streamed from a database cursor.
+     * Paging, sorting and count parameters do not apply.
+     */
+    @GetMapping(produces = "application/x-ndjson")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> streamAllWorkOrders(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam Map<String, String> params) {
+        List.of("page", "size", "sortBy", "sortDir", "paging", "cursor", "count", "fields").forEach(params::remove);
+        
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // Admitted before any stream headers are set, so a busy server can still answer with a JSON 503
+        StreamingResponseBody body = exportService.export(params, WorkOrderExportService.Format.NDJSON, gzip);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(WorkOrderExportService.Format.NDJSON.mediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    @GetMapping("/search")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<WorkOrderSearchResult>> searchWorkOrders(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(workOrderService.searchWorkOrders(q, cursor, size));
+    }
+    
+    /**
+     * Server-sent events for work-order changes and stats deltas, resumable with Last-Event-ID.
+     * See {@link WorkOrderEventStream} for the event types.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SseEmitter> streamWorkOrderEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return ResponseEntity.ok()
+                // Stops nginx-style proxies from buffering the stream
+                .header("X-Accel-Buffering", "no")
+                .body(eventStream.subscribe(lastEventId));
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<WorkOrderResponse> getWorkOrderById(@PathVariable Long id) {
-        return ResponseEntity.ok(workOrderService.getWorkOrderById(id));
+    public ResponseEntity<?> getWorkOrderById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        // A missing order has no tag and falls through to the 404 from the service
+        String etag = workOrderService.getWorkOrderETag(id).orElse(null);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        
+        Object body = fields != null && !fields.isBlank()
+                ? workOrderService.getWorkOrderFieldsById(id, fields)
+                : workOrderService.getWorkOrderById(id);
+        return etag != null ? tagged(etag, body) : ResponseEntity.ok(body);
     }
     
     @PostMapping
@@ -51,12 +172,68 @@ public class WorkOrderController {
         return ResponseEntity.ok(workOrderService.createWorkOrder(request));
     }
     
+    /**
+     * Streams every work order matching the listing filters as CSV or NDJSON, gzipped when the client accepts it.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportWorkOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam Map<String, String> params) {
+        params.remove("format");
+        
+        WorkOrderExportService.Format exportFormat = WorkOrderExportService.Format.from(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = exportService.export(params, exportFormat, gzip);
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportFormat.filename())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * Bulk-creates work orders from a CSV (with header) or NDJSON body, read as a stream.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WorkOrderImportReport> importWorkOrders(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        return ResponseEntity.ok(importService.importWorkOrders(request.getInputStream(), contentType));
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<WorkOrderResponse> updateWorkOrder(
             @PathVariable Long id, 
-            @Valid @RequestBody WorkOrderRequest request) {
-        return ResponseEntity.ok(workOrderService.updateWorkOrder(id, request));
+            @Valid @RequestBody WorkOrderRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        WorkOrderResponse response = workOrderService.updateWorkOrder(
+                id, request, WorkOrderService.versionFromETag(id, ifMatch));
+        return ResponseEntity.ok().eTag(WorkOrderService.eTagOf(id, response.getVersion())).body(response);
+    }
+    
+    /**
+     * Partially updates a work order from a JSON Merge Patch. Send the ETag from a previous read as
+     * If-Match (or a {@code version} key) to have the patch rejected with 409 if someone else changed it since.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WorkOrderResponse> patchWorkOrder(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        WorkOrderResponse response = workOrderService.patchWorkOrder(
+                id, patch, WorkOrderService.versionFromETag(id, ifMatch));
+        return ResponseEntity.ok().eTag(WorkOrderService.eTagOf(id, response.getVersion())).body(response);
     }
     
     @DeleteMapping("/{id}")
@@ -65,9 +242,82 @@ public class WorkOrderController {
         return ResponseEntity.ok(workOrderService.deleteWorkOrder(id));
     }
     
+    /**
+     * Applies one status, updater or assignment change to every selected work order, in chunked set-based updates.
+     */
+    @PostMapping("/bulk/update")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WorkOrderBulkResult> bulkUpdateWorkOrders(@RequestBody WorkOrderBulkRequest request) {
+        return ResponseEntity.ok(bulkService.updateWorkOrders(request));
+    }
+    
+    @PostMapping("/bulk/delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<WorkOrderBulkResult> bulkDeleteWorkOrders(@RequestBody WorkOrderBulkRequest request) {
+        return ResponseEntity.ok(bulkService.deleteWorkOrders(request));
+    }
+    
     @GetMapping("/stats")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<WorkOrderStats> getWorkOrderStats() {
-        return ResponseEntity.ok(workOrderService.getWorkOrderStats());
+    public ResponseEntity<WorkOrderStats> getWorkOrderStats(WebRequest webRequest) {
+        String etag = workOrderService.getCollectionETag();
+        if (webRequest.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+        return tagged(etag, workOrderService.getWorkOrderStats());
+    }
+    
+    @GetMapping("/analytics")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<WorkOrderAnalytics> getWorkOrderAnalytics(
+            @RequestParam(defaultValue = "month") String bucket,
+            @RequestParam(defaultValue = "orderStatus") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.getAnalytics(bucket, groupBy, from, to));
+    }
+    
+    /**
+     * Whether Accept-Encoding allows gzip, honouring q-values: {@code gzip;q=0} refuses it, and {@code *}
+     * covers it unless gzip is listed on its own.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        double quality = gzipQuality != null ? gzipQuality : anyQuality != null ? anyQuality : 0;
+        return quality > 0;
+    }
+    
+    // The same URL can be served as JSON or CBOR, so cached copies are kept per Accept
+    private static <T> ResponseEntity<T> tagged(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+    
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT).build();
     }
 }
@@ -0,0 +1,27 @@
+package com.tripzin.techminds.dto.request;
+
+import com.tripzin.techminds.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * How the total of a paged listing is obtained.
+ */
+public enum CountMode {
+    /** A count(*) with the page's filters on every request. */
+    EXACT,
+    /** No total; the response is a slice that only says whether a next page exists. */
+    NONE,
+    /** The planner's row estimate for unfiltered listings; filtered listings fall back to {@link #CACHED}. */
+    ESTIMATED,
+    /** An exact count remembered per filter combination until the next work-order write. */
+    CACHED;
+    
+    public static CountMode from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown count mode '" + value + "'; use exact, none, estimated or cached");
+        }
+    }
+}
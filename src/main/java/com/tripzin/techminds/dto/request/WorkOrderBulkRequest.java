@@ -0,0 +1,33 @@
+package com.tripzin.techminds.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects work orders either by {@code ids} or by a {@code filter} in the listing's filter format,
+ * never both. For updates, at least one of the change fields must be set; {@code unassign} clears the
+ * assigned user and cannot be combined with {@code userId}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkOrderBulkRequest {
+    
+    private List<Long> ids;
+    
+    private Map<String, String> filter;
+    
+    private String orderStatus;
+    
+    private String updater;
+    
+    private Long userId;
+    
+    private boolean unassign;
+}
@@ -1,7 +1,10 @@
 package com.tripzin.techminds.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,26 +21,33 @@ import java.time.LocalDateTime;
 public class WorkOrderRequest {
     
     @NotBlank
+    @Size(max = 50)
     private String woNumber;
     
     @NotBlank
+    @Size(max = 100)
     private String workType;
     
     @NotBlank
+    @Size(max = 100)
     private String client;
     
     private Integer photoCount;
     
+    @Size(max = 10)
     private String state;
     
     @NotNull
     private LocalDate clientDueDate;
     
+    @Size(max = 100)
     private String updater;
     
     @NotBlank
+    @Size(max = 50)
     private String orderStatus;
     
+    @Size(max = 255)
     private String remarkCategory;
     
     private LocalDateTime startTime;
@@ -46,8 +56,11 @@ public class WorkOrderRequest {
     
     private Integer numberOfBids;
     
+    @Digits(integer = 8, fraction = 2)
     private BigDecimal bidAmount;
     
+    // Lombok names the property "rush"; accept the "isRush" key the clients send as well
+    @JsonAlias("isRush")
     private boolean isRush;
     
     private Long userId;
@@ -0,0 +1,4 @@
+package com.tripzin.techminds.dto.response;
+
+public record PrincipalCacheStats(long size, long hits, long misses, long evictions) {
+}
@@ -0,0 +1,14 @@
+package com.tripzin.techminds.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Work-order counts and bid sums per time bucket and group, by creation date.
+ */
+public record WorkOrderAnalytics(String bucket, String groupBy, LocalDate from, LocalDate to, List<Row> rows) {
+    
+    public record Row(LocalDate bucketStart, String group, long count, long rushCount, BigDecimal bidSum) {
+    }
+}
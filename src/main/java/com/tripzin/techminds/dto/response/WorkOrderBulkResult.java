@@ -0,0 +1,7 @@
+package com.tripzin.techminds.dto.response;
+
+/**
+ * Outcome of a bulk update or delete: rows changed, and the number of statements (chunks) it took.
+ */
+public record WorkOrderBulkResult(long affected, int chunks) {
+}
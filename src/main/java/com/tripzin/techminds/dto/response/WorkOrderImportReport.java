@@ -0,0 +1,13 @@
+package com.tripzin.techminds.dto.response;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rows are numbered from 1 in input order, not counting a CSV header.
+ * {@code errors} is capped; {@code failed} always counts every rejected row.
+ */
+public record WorkOrderImportReport(long received, long imported, long failed, boolean aborted, List<RowError> errors) {
+    
+    public record RowError(long row, String woNumber, List<String> messages) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.tripzin.techminds.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.tripzin.techminds.dto.UserDTO;
 import com.tripzin.techminds.entity.WorkOrder;
 import lombok.AllArgsConstructor;
@@ -31,10 +32,13 @@ public class WorkOrderResponse {
     private LocalDateTime endTime;
     private Integer numberOfBids;
     private BigDecimal bidAmount;
+    // Same key as the sparse, export and NDJSON representations; Lombok alone would name it "rush"
+    @JsonProperty("isRush")
     private boolean isRush;
     private UserDTO user;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
     
     public static WorkOrderResponse fromEntity(WorkOrder workOrder) {
         return WorkOrderResponse.builder()
@@ -56,6 +60,7 @@ public class WorkOrderResponse {
                 .user(workOrder.getUser() != null ? UserDTO.fromEntity(workOrder.getUser()) : null)
                 .createdAt(workOrder.getCreatedAt())
                 .updatedAt(workOrder.getUpdatedAt())
+                .version(workOrder.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,8 @@
+package com.tripzin.techminds.dto.response;
+
+/**
+ * A work order matched by full-text search. {@code highlight} is an HTML fragment: the matched text,
+ * HTML-escaped, with the query terms wrapped in {@code <mark>} tags. It is safe to render as HTML.
+ */
+public record WorkOrderSearchResult(WorkOrderResponse workOrder, float rank, String highlight) {
+}
@@ -0,0 +1,46 @@
+package com.tripzin.techminds.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "revoked_refresh_tokens")
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedRefreshToken {
+    
+    @Id
+    @Column(length = 36)
+    private String jti;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @CreationTimestamp
+    @Column(name = "revoked_at", updatable = false)
+    private LocalDateTime revokedAt;
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RevokedRefreshToken that = (RevokedRefreshToken) o;
+        return Objects.equals(jti, that.jti);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jti);
+    }
+}
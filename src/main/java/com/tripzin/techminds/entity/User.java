@@ -60,8 +60,11 @@ public class User {
     @Column(name = "account_verified")
     private boolean accountVerified;
     
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+    
     @Builder.Default
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles", 
                joinColumns = @JoinColumn(name = "user_id"),
                inverseJoinColumns = @JoinColumn(name = "role_id"))
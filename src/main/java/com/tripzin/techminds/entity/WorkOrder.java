@@ -3,6 +3,7 @@ package com.tripzin.techminds.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -12,6 +13,7 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "work_orders")
+@DynamicUpdate
 @Getter
 @Setter
 @ToString(exclude = "user")
@@ -88,4 +90,7 @@ public class WorkOrder {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    @Version
+    private long version;
 }
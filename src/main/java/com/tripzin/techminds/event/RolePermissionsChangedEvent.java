@@ -0,0 +1,8 @@
+package com.tripzin.techminds.event;
+
+/**
+ * Published when a role or permission is created, renamed, re-assigned or deleted,
+ * so authorities derived from roles can be rebuilt.
+ */
+public record RolePermissionsChangedEvent() {
+}
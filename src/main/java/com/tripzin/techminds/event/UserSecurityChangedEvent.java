@@ -0,0 +1,8 @@
+package com.tripzin.techminds.event;
+
+/**
+ * Published when a user's roles, credentials, verification state or existence changes,
+ * so anything holding a copy of that user's security state can drop it.
+ */
+public record UserSecurityChangedEvent(Long userId) {
+}
@@ -0,0 +1,22 @@
+package com.tripzin.techminds.event;
+
+/**
+ * Published when work orders are created, updated or deleted. {@code before} is null for a create and
+ * {@code after} is null for a delete. Bulk changes carry no id and no statuses.
+ */
+public record WorkOrderChangedEvent(Long workOrderId, Status before, Status after) {
+    
+    public static WorkOrderChangedEvent bulk() {
+        return new WorkOrderChangedEvent(null, null, null);
+    }
+    
+    public boolean isBulk() {
+        return workOrderId == null;
+    }
+    
+    /**
+     * The fields the status counters are keyed by.
+     */
+    public record Status(String orderStatus, boolean rush) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.tripzin.techminds.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ConflictException extends AppException {
+    
+    public ConflictException(String message) {
+        super(message, HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,10 @@
+package com.tripzin.techminds.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends AppException {
+    
+    public ServiceUnavailableException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
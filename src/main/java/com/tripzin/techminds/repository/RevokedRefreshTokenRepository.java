@@ -0,0 +1,37 @@
+package com.tripzin.techminds.repository;
+
+import com.tripzin.techminds.entity.RevokedRefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedRefreshTokenRepository extends JpaRepository<RevokedRefreshToken, String> {
+    
+    List<RevokedRefreshToken> findByExpiresAtAfter(LocalDateTime now);
+    
+    List<RevokedRefreshToken> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+    
+    /**
+     * Records the token id unless it is already there; the primary key makes this the single-use check
+     * across instances. Returns 0 when the id was already revoked.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_refresh_tokens (jti, user_id, expires_at)
+            VALUES (:jti, :userId, :expiresAt)
+            ON CONFLICT (jti) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("jti") String jti,
+                       @Param("userId") Long userId,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Modifying
+    @Query("DELETE FROM RevokedRefreshToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
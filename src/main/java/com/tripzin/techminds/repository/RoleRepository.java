@@ -3,8 +3,10 @@ package com.tripzin.techminds.repository;
 import com.tripzin.techminds.entity.ERole;
 import com.tripzin.techminds.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +15,7 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(ERole name);
     
     boolean existsByName(ERole name);
+    
+    @Query("SELECT DISTINCT r FROM Role r LEFT JOIN FETCH r.permissions")
+    List<Role> findAllWithPermissions();
 }
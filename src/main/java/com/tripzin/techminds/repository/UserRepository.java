@@ -1,19 +1,40 @@
 package com.tripzin.techminds.repository;
 
 import com.tripzin.techminds.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
     
     Optional<User> findByPhone(String phone);
     
+    /**
+     * Loads the users matching the identifier as email or phone, with their roles, in one statement.
+     * Served by the unique indexes on email and phone. Permissions come from {@code RoleAuthorityRegistry}.
+     */
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u WHERE u.email = :identifier OR u.phone = :identifier")
+    List<User> findAllByEmailOrPhone(@Param("identifier") String identifier);
+    
     Boolean existsByEmail(String email);
     
     Boolean existsByPhone(String phone);
+    
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,55 @@
+package com.tripzin.techminds.repository;
+
+import com.tripzin.techminds.dto.request.WorkOrderRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Set-based work-order writes that bypass the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WorkOrderJdbcRepository {
+    
+    private static final String INSERT = """
+            INSERT INTO work_orders (wo_number, work_type, client, photo_count, state, client_due_date, updater,
+                                     order_status, remark_category, start_time, end_time, number_of_bids,
+                                     bid_amount, is_rush, user_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Inserts the rows as one JDBC batch, which the driver rewrites into multi-row inserts
+     * when reWriteBatchedInserts is enabled.
+     */
+    public void insertBatch(List<WorkOrderRequest> rows, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getWoNumber());
+            ps.setString(2, row.getWorkType());
+            ps.setString(3, row.getClient());
+            ps.setObject(4, row.getPhotoCount());
+            ps.setString(5, row.getState());
+            ps.setDate(6, Date.valueOf(row.getClientDueDate()));
+            ps.setString(7, row.getUpdater());
+            ps.setString(8, row.getOrderStatus());
+            ps.setString(9, row.getRemarkCategory());
+            ps.setTimestamp(10, row.getStartTime() != null ? Timestamp.valueOf(row.getStartTime()) : null);
+            ps.setTimestamp(11, row.getEndTime() != null ? Timestamp.valueOf(row.getEndTime()) : null);
+            ps.setObject(12, row.getNumberOfBids());
+            ps.setBigDecimal(13, row.getBidAmount());
+            ps.setBoolean(14, row.isRush());
+            ps.setObject(15, row.getUserId());
+            ps.setTimestamp(16, timestamp);
+            ps.setTimestamp(17, timestamp);
+        });
+    }
+}
@@ -4,19 +4,84 @@ import com.tripzin.techminds.entity.WorkOrder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface WorkOrderRepository extends JpaRepository<WorkOrder, Long>, JpaSpecificationExecutor<WorkOrder> {
+public interface WorkOrderRepository extends JpaRepository<WorkOrder, Long>, JpaSpecificationExecutor<WorkOrder>,
+        WorkOrderRepositoryCustom {
+    
+    // ts_headline re-parses the document, so it only runs on the page of hits picked by the inner query.
+    // Matches are delimited with the control characters STX and ETX, stripped from the text beforehand, so
+    // the caller can escape the user-entered text and only then turn the delimiters into markup
+    String SEARCH_SELECT = """
+            SELECT hits.id AS id, hits.rank AS rank,
+                   ts_headline('english',
+                               translate(concat_ws(' | ', w.wo_number, w.client, w.work_type, w.remark_category,
+                                                   w.updater), chr(2) || chr(3), ''),
+                               websearch_to_tsquery('english', :q),
+                               'StartSel=' || chr(2) || ', StopSel=' || chr(3) || ', MaxFragments=2') AS highlight
+            FROM (
+                SELECT id, ts_rank(search_vector, websearch_to_tsquery('english', :q)) AS rank
+                FROM work_orders
+                WHERE search_vector @@ websearch_to_tsquery('english', :q)
+            """;
+    
+    String SEARCH_PAGE = """
+                ORDER BY rank DESC, id DESC
+                LIMIT :limit
+            ) hits
+            JOIN work_orders w ON w.id = hits.id
+            ORDER BY hits.rank DESC, hits.id DESC
+            """;
+    
+    @Query("SELECT w.orderStatus AS orderStatus, w.isRush AS rush, COUNT(w) AS total "
+            + "FROM WorkOrder w GROUP BY w.orderStatus, w.isRush")
+    List<WorkOrderStatusCount> countByStatusAndRush();
+    
+    // Served from the updated_at index
+    @Query("SELECT MAX(w.updatedAt) FROM WorkOrder w")
+    LocalDateTime findLastUpdatedAt();
     
-    long countByOrderStatus(String orderStatus);
+    @Query("SELECT w.version FROM WorkOrder w WHERE w.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
     
-    long countByOrderStatusAndIsRush(String orderStatus, boolean isRush);
+    @Modifying
+    @Query("DELETE FROM WorkOrder w WHERE w.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
     
     @NonNull
     Page<WorkOrder> findAll(@Nullable Specification<WorkOrder> spec, @NonNull Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"user", "user.roles"})
+    Optional<WorkOrder> findWithUserById(Long id);
+    
+    @EntityGraph(attributePaths = "user")
+    List<WorkOrder> findAllWithUserByIdIn(Collection<Long> ids);
+    
+    @Query(value = SEARCH_SELECT + SEARCH_PAGE, nativeQuery = true)
+    List<WorkOrderSearchHit> search(@Param("q") String query, @Param("limit") int limit);
+    
+    /**
+     * The next page of {@link #search}, continuing after the last hit's (rank, id).
+     */
+    @Query(value = SEARCH_SELECT + """
+                  AND (ts_rank(search_vector, websearch_to_tsquery('english', :q)), id) < (CAST(:rank AS real), :afterId)
+            """ + SEARCH_PAGE, nativeQuery = true)
+    List<WorkOrderSearchHit> searchAfter(@Param("q") String query,
+                                         @Param("rank") float rank,
+                                         @Param("afterId") Long afterId,
+                                         @Param("limit") int limit);
 }
@@ -0,0 +1,63 @@
+package com.tripzin.techminds.repository;
+
+import com.tripzin.techminds.entity.WorkOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface WorkOrderRepositoryCustom {
+    
+    /**
+     * Work-order attributes that can be requested as a sparse fieldset. {@code user} selects a summary
+     * of the assigned user (id, first and last name, email).
+     */
+    Set<String> SELECTABLE_FIELDS = Set.of(
+            "id", "woNumber", "workType", "client", "photoCount", "state", "clientDueDate", "updater",
+            "orderStatus", "remarkCategory", "startTime", "endTime", "numberOfBids", "bidAmount", "isRush",
+            "user", "createdAt", "updatedAt");
+    
+    List<String> USER_SUMMARY_FIELDS = List.of("id", "firstName", "lastName", "email");
+    
+    /**
+     * Reads one page without counting: fetches one row past the page to tell whether another page follows.
+     */
+    Slice<WorkOrder> findSlice(Specification<WorkOrder> spec, Pageable pageable);
+    
+    /**
+     * Reads one page selecting only the given {@link #SELECTABLE_FIELDS}, as maps keyed by field name
+     * in the requested order. Like {@link #findSlice}, it does not count.
+     */
+    Slice<Map<String, Object>> findFields(Specification<WorkOrder> spec, Pageable pageable, Collection<String> fields);
+    
+    /**
+     * Streams every matching row, as {@link #findFields} does for one page, from a forward-only cursor
+     * fetching {@code fetchSize} rows per round trip. Must be consumed and closed inside a transaction.
+     */
+    Stream<Map<String, Object>> streamFields(Specification<WorkOrder> spec, Sort sort, Collection<String> fields,
+                                             int fetchSize);
+    
+    /**
+     * Ids of matching rows above {@code afterId} in ascending order, at most {@code limit} of them.
+     * Walking a filter this way lets bulk statements run in bounded chunks.
+     */
+    List<Long> findIdsAfter(Specification<WorkOrder> spec, Long afterId, int limit);
+    
+    /**
+     * Sets the given attributes on the listed work orders in one {@code UPDATE} statement, bypassing the
+     * persistence context. Values for {@code user} are user ids, or null to unassign.
+     */
+    int updateAll(Collection<Long> ids, Map<String, Object> changes);
+    
+    /**
+     * The planner's row estimate for the whole table, or empty if the table has not been analyzed yet.
+     */
+    OptionalLong estimateCount();
+}
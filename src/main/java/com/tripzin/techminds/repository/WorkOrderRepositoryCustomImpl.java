@@ -0,0 +1,182 @@
+package com.tripzin.techminds.repository;
+
+import com.tripzin.techminds.entity.User;
+import com.tripzin.techminds.entity.WorkOrder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+public class WorkOrderRepositoryCustomImpl implements WorkOrderRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Slice<WorkOrder> findSlice(Specification<WorkOrder> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WorkOrder> query = criteriaBuilder.createQuery(WorkOrder.class);
+        Root<WorkOrder> root = query.from(WorkOrder.class);
+        
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, criteriaBuilder));
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        
+        List<WorkOrder> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+    
+    @Override
+    public Slice<Map<String, Object>> findFields(Specification<WorkOrder> spec, Pageable pageable,
+                                                 Collection<String> fields) {
+        List<Tuple> rows = entityManager.createQuery(fieldsQuery(spec, pageable.getSort(), fields))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Map<String, Object>> content = (hasNext ? rows.subList(0, pageable.getPageSize()) : rows).stream()
+                .map(row -> toMap(row, fields))
+                .toList();
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+    
+    @Override
+    public List<Long> findIdsAfter(Specification<WorkOrder> spec, Long afterId, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<WorkOrder> root = query.from(WorkOrder.class);
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (spec != null) {
+            predicates.add(spec.toPredicate(root, query, criteriaBuilder));
+        }
+        if (afterId != null) {
+            predicates.add(criteriaBuilder.greaterThan(root.get("id"), afterId));
+        }
+        query.select(root.get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.asc(root.get("id")));
+        
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public int updateAll(Collection<Long> ids, Map<String, Object> changes) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<WorkOrder> update = criteriaBuilder.createCriteriaUpdate(WorkOrder.class);
+        Root<WorkOrder> root = update.from(WorkOrder.class);
+        
+        changes.forEach((attribute, value) -> {
+            if ("user".equals(attribute)) {
+                if (value != null) {
+                    update.set(root.<User>get("user"), entityManager.getReference(User.class, value));
+                } else {
+                    update.set(root.<User>get("user"), criteriaBuilder.nullLiteral(User.class));
+                }
+            } else {
+                update.set(attribute, value);
+            }
+        });
+        // Set-based updates bypass @Version, so bump it here for the optimistic checks of concurrent editors
+        update.set(root.<Long>get("version"), criteriaBuilder.sum(root.get("version"), 1L));
+        update.where(root.get("id").in(ids));
+        
+        return entityManager.createQuery(update).executeUpdate();
+    }
+    
+    @Override
+    public Stream<Map<String, Object>> streamFields(Specification<WorkOrder> spec, Sort sort,
+                                                    Collection<String> fields, int fetchSize) {
+        // Tuples are not managed entities, so the persistence context stays empty however many rows pass
+        return entityManager.createQuery(fieldsQuery(spec, sort, fields))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(row -> toMap(row, fields));
+    }
+    
+    private CriteriaQuery<Tuple> fieldsQuery(Specification<WorkOrder> spec, Sort sort, Collection<String> fields) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<WorkOrder> root = query.from(WorkOrder.class);
+        
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            if (!SELECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown work order field: " + field);
+            }
+            if ("user".equals(field)) {
+                Join<WorkOrder, User> user = root.join("user", JoinType.LEFT);
+                for (String userField : USER_SUMMARY_FIELDS) {
+                    selections.add(user.get(userField).alias("user." + userField));
+                }
+            } else {
+                selections.add(root.get(field).alias(field));
+            }
+        }
+        query.multiselect(selections);
+        
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, criteriaBuilder));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return query;
+    }
+    
+    private static Map<String, Object> toMap(Tuple row, Collection<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            if ("user".equals(field)) {
+                Map<String, Object> user = null;
+                if (row.get("user.id") != null) {
+                    user = new LinkedHashMap<>();
+                    for (String userField : USER_SUMMARY_FIELDS) {
+                        user.put(userField, row.get("user." + userField));
+                    }
+                }
+                values.put(field, user);
+            } else {
+                values.put(field, row.get(field));
+            }
+        }
+        return values;
+    }
+    
+    @Override
+    public OptionalLong estimateCount() {
+        Number estimate = (Number) entityManager
+                .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = CAST('work_orders' AS regclass)")
+                .getSingleResult();
+        // reltuples is -1 until the first VACUUM or ANALYZE
+        return estimate.doubleValue() < 0 ? OptionalLong.empty() : OptionalLong.of(Math.round(estimate.doubleValue()));
+    }
+}
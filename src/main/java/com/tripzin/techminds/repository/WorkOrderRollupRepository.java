@@ -0,0 +1,126 @@
+package com.tripzin.techminds.repository;
+
+import com.tripzin.techminds.dto.response.WorkOrderAnalytics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access to work_order_daily_rollup and its bookkeeping tables, written in SQL since none of them are entities.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WorkOrderRollupRepository {
+    
+    // Request names to rollup columns; only these are ever spliced into SQL
+    public static final Map<String, String> GROUP_COLUMNS = Map.of(
+            "client", "client",
+            "orderStatus", "order_status",
+            "state", "state",
+            "workType", "work_type");
+    
+    private static final String AGGREGATE = """
+            INSERT INTO work_order_daily_rollup
+                (day, client, order_status, state, work_type, order_count, rush_count, bid_sum)
+            SELECT CAST(created_at AS date), client, order_status, COALESCE(state, ''), work_type,
+                   COUNT(*), COUNT(*) FILTER (WHERE is_rush), COALESCE(SUM(bid_amount), 0)
+            FROM work_orders
+            """;
+    
+    private static final String AGGREGATE_DAY = AGGREGATE + """
+            WHERE created_at >= ? AND created_at < ?
+            GROUP BY 1, 2, 3, 4, 5
+            """;
+    
+    private static final String AGGREGATE_ALL = AGGREGATE + """
+            WHERE created_at IS NOT NULL
+            GROUP BY 1, 2, 3, 4, 5
+            """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Takes a transaction-scoped advisory lock so only one instance refreshes at a time.
+     */
+    public boolean tryLockForRefresh() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('work_order_daily_rollup'))", Boolean.class));
+    }
+    
+    public LocalDateTime findWatermark() {
+        Timestamp watermark = jdbcTemplate.queryForObject(
+                "SELECT watermark FROM work_order_rollup_state WHERE id = 1", Timestamp.class);
+        return watermark != null ? watermark.toLocalDateTime() : null;
+    }
+    
+    public void updateWatermark(LocalDateTime watermark) {
+        jdbcTemplate.update("UPDATE work_order_rollup_state SET watermark = ? WHERE id = 1", Timestamp.valueOf(watermark));
+    }
+    
+    public LocalDateTime currentTimestamp() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+    
+    public List<LocalDate> findDaysUpdatedSince(LocalDateTime since) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(created_at AS date) FROM work_orders WHERE updated_at > ? AND created_at IS NOT NULL",
+                LocalDate.class, Timestamp.valueOf(since));
+    }
+    
+    public List<LocalDate> findDirtyDays() {
+        return jdbcTemplate.queryForList("SELECT day FROM work_order_rollup_dirty_days", LocalDate.class);
+    }
+    
+    public void clearDirtyDays(Collection<LocalDate> days) {
+        jdbcTemplate.batchUpdate("DELETE FROM work_order_rollup_dirty_days WHERE day = ?",
+                days.stream().map(day -> new Object[]{Date.valueOf(day)}).toList());
+    }
+    
+    public void rebuildAll() {
+        jdbcTemplate.update("DELETE FROM work_order_daily_rollup");
+        jdbcTemplate.update(AGGREGATE_ALL);
+        jdbcTemplate.update("DELETE FROM work_order_rollup_dirty_days");
+    }
+    
+    /**
+     * Replaces the rollup rows of one day with a fresh aggregate of that day's work orders.
+     */
+    public void rebuildDay(LocalDate day) {
+        jdbcTemplate.update("DELETE FROM work_order_daily_rollup WHERE day = ?", Date.valueOf(day));
+        jdbcTemplate.update(AGGREGATE_DAY,
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+    }
+    
+    /**
+     * Sums the rollup into buckets of {@code bucket} ('day', 'week' or 'month') per value of {@code groupBy}.
+     */
+    public List<WorkOrderAnalytics.Row> aggregate(String bucket, String groupBy, LocalDate from, LocalDate to) {
+        String column = GROUP_COLUMNS.get(groupBy);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown group: " + groupBy);
+        }
+        String sql = """
+                SELECT CAST(date_trunc(?, CAST(day AS timestamp)) AS date) AS bucket_start, %1$s AS grp,
+                       SUM(order_count) AS order_count, SUM(rush_count) AS rush_count, SUM(bid_sum) AS bid_sum
+                FROM work_order_daily_rollup
+                WHERE day >= ? AND day <= ?
+                GROUP BY 1, 2
+                ORDER BY 1, 2
+                """.formatted(column);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new WorkOrderAnalytics.Row(
+                        rs.getDate("bucket_start").toLocalDate(),
+                        rs.getString("grp"),
+                        rs.getLong("order_count"),
+                        rs.getLong("rush_count"),
+                        rs.getBigDecimal("bid_sum")),
+                bucket, Date.valueOf(from), Date.valueOf(to));
+    }
+}
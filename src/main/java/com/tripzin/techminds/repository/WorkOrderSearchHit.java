@@ -0,0 +1,17 @@
+package com.tripzin.techminds.repository;
+
+/**
+ * A full-text match: the work order id, its relevance and the matched text, raw, with each term between
+ * {@link #MATCH_START} and {@link #MATCH_END}.
+ */
+public interface WorkOrderSearchHit {
+    
+    String MATCH_START = "\u0002";
+    String MATCH_END = "\u0003";
+    
+    Long getId();
+    
+    Float getRank();
+    
+    String getHighlight();
+}
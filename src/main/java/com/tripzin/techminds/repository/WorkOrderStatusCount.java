@@ -0,0 +1,10 @@
+package com.tripzin.techminds.repository;
+
+public interface WorkOrderStatusCount {
+    
+    String getOrderStatus();
+    
+    Boolean getRush();
+    
+    Long getTotal();
+}
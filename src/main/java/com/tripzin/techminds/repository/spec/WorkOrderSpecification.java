@@ -1,16 +1,42 @@
 package com.tripzin.techminds.repository.spec;
 
 import com.tripzin.techminds.entity.WorkOrder;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class WorkOrderSpecification {
     
+    /**
+     * The filter keys {@link #filterBy} understands; any other key is ignored.
+     */
+    public static final Set<String> FILTER_KEYS = Set.of(
+            "woNumber", "workType", "client", "state", "orderStatus", "updater", "isRush", "startDate", "endDate",
+            "userId");
+    
+    /**
+     * The filters {@link #filterBy} actually applies: known keys with a non-empty value.
+     */
+    public static Map<String, String> appliedFilters(Map<String, String> filters) {
+        Map<String, String> applied = new HashMap<>();
+        filters.forEach((key, value) -> {
+            if (FILTER_KEYS.contains(key) && value != null && !value.isEmpty()) {
+                applied.put(key, value);
+            }
+        });
+        return Map.copyOf(applied);
+    }
+    
     public static Specification<WorkOrder> filterBy(Map<String, String> filters) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -19,19 +45,13 @@ public class WorkOrderSpecification {
                 if (value != null && !value.isEmpty()) {
                     switch (key) {
                         case "woNumber":
-                            predicates.add(criteriaBuilder.like(
-                                    criteriaBuilder.lower(root.get("woNumber")),
-                                    "%" + value.toLowerCase() + "%"));
+                            predicates.add(contains(criteriaBuilder, root.get("woNumber"), value));
                             break;
                         case "workType":
-                            predicates.add(criteriaBuilder.like(
-                                    criteriaBuilder.lower(root.get("workType")),
-                                    "%" + value.toLowerCase() + "%"));
+                            predicates.add(contains(criteriaBuilder, root.get("workType"), value));
                             break;
                         case "client":
-                            predicates.add(criteriaBuilder.like(
-                                    criteriaBuilder.lower(root.get("client")),
-                                    "%" + value.toLowerCase() + "%"));
+                            predicates.add(contains(criteriaBuilder, root.get("client"), value));
                             break;
                         case "state":
                             predicates.add(criteriaBuilder.equal(root.get("state"), value));
@@ -40,9 +60,7 @@ public class WorkOrderSpecification {
                             predicates.add(criteriaBuilder.equal(root.get("orderStatus"), value));
                             break;
                         case "updater":
-                            predicates.add(criteriaBuilder.like(
-                                    criteriaBuilder.lower(root.get("updater")),
-                                    "%" + value.toLowerCase() + "%"));
+                            predicates.add(contains(criteriaBuilder, root.get("updater"), value));
                             break;
                         case "isRush":
                             predicates.add(criteriaBuilder.equal(root.get("isRush"), Boolean.parseBoolean(value)));
@@ -65,4 +83,59 @@ public class WorkOrderSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+    
+    /**
+     * Fetch-joins the assigned user so listing a page does not load each user with its own select.
+     * Count queries built from the same specification skip the fetch, which they cannot carry.
+     */
+    public static Specification<WorkOrder> withAssignedUser() {
+        return (root, query, criteriaBuilder) -> {
+            Class<?> resultType = query.getResultType();
+            if (resultType != Long.class && resultType != long.class) {
+                root.fetch("user", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+    
+    /**
+     * Case-insensitive substring match as {@code lower(column) LIKE '%value%'}, the expression the
+     * trigram indexes from V6 are built on. Wildcards typed by the user are matched literally.
+     */
+    private static Predicate contains(CriteriaBuilder criteriaBuilder, Expression<String> path, String value) {
+        String escaped = value.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return criteriaBuilder.like(criteriaBuilder.lower(path), "%" + escaped + "%", '\\');
+    }
+    
+    /**
+     * Rows strictly after ({@code sortValue}, {@code id}) in the given direction, i.e. the seek condition
+     * {@code (property, id) > (sortValue, id)}. It is written as {@code property >= v AND (property > v OR id > lastId)}
+     * so Postgres can start a range scan on the (property, id) index instead of filtering the OR.
+     */
+    public static <T extends Comparable<? super T>> Specification<WorkOrder> after(
+            String property, Sort.Direction direction, T sortValue, Long id) {
+        return (root, query, criteriaBuilder) -> {
+            Expression<Long> idPath = root.get("id");
+            boolean ascending = direction.isAscending();
+            if ("id".equals(property)) {
+                return beyond(criteriaBuilder, idPath, id, ascending);
+            }
+            
+            Expression<T> path = root.get(property);
+            Predicate bound = ascending
+                    ? criteriaBuilder.greaterThanOrEqualTo(path, sortValue)
+                    : criteriaBuilder.lessThanOrEqualTo(path, sortValue);
+            return criteriaBuilder.and(bound, criteriaBuilder.or(
+                    beyond(criteriaBuilder, path, sortValue, ascending),
+                    beyond(criteriaBuilder, idPath, id, ascending)));
+        };
+    }
+    
+    private static <T extends Comparable<? super T>> Predicate beyond(
+            CriteriaBuilder criteriaBuilder, Expression<T> path, T value, boolean ascending) {
+        return ascending ? criteriaBuilder.greaterThan(path, value) : criteriaBuilder.lessThan(path, value);
+    }
 }
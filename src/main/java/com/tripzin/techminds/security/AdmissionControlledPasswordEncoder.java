@@ -0,0 +1,116 @@
+package com.tripzin.techminds.security;
+
+import com.tripzin.techminds.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt on a bounded executor instead of the request thread. When the queue is full, a task
+ * has waited longer than the allowed queue time, or the hash itself overruns its timeout, hashing fails
+ * with the same 503 so a burst of sign-in attempts cannot take CPU and threads away from the rest of the API.
+ * A request thread waits at most the queue time plus the hash timeout.
+ */
+@Slf4j
+public class AdmissionControlledPasswordEncoder implements PasswordEncoder {
+    
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+    
+    private final BCryptPasswordEncoder delegate;
+    private final AsyncTaskExecutor executor;
+    private final long maxQueueNanos;
+    private final long maxWaitNanos;
+    
+    public AdmissionControlledPasswordEncoder(int strength, AsyncTaskExecutor executor, Duration maxQueueTime,
+                                              Duration hashTimeout) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.executor = executor;
+        this.maxQueueNanos = maxQueueTime.toNanos();
+        this.maxWaitNanos = maxQueueTime.plus(hashTimeout).toNanos();
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    /**
+     * Picks the highest BCrypt cost whose hash time stays within the target, never going below the default of 10.
+     */
+    public static int calibrateStrength(Duration targetHashTime) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibration");
+        
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        
+        // Each step up in cost doubles the hashing time
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && elapsed * 2 <= targetHashTime.toNanos()) {
+            elapsed *= 2;
+            strength++;
+        }
+        
+        log.info("Calibrated BCrypt strength {} (~{} ms per hash)", strength, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return strength;
+    }
+    
+    private <T> T submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                // The caller is about to give up, so don't spend CPU on a hash nobody will read
+                if (System.nanoTime() - enqueuedAt > maxQueueNanos) {
+                    throw busy();
+                }
+                return task.call();
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Password hashing queue is full, rejecting request");
+            throw busy();
+        }
+        
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Password hashing timed out, rejecting request");
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw busy();
+        }
+    }
+    
+    private static ServiceUnavailableException busy() {
+        return new ServiceUnavailableException("Authentication service is busy, please retry shortly");
+    }
+}
@@ -1,12 +1,17 @@
 package com.tripzin.techminds.security.jwt;
 
+import com.tripzin.techminds.security.services.RoleAuthorityRegistry;
+import com.tripzin.techminds.security.services.TokenVersionRegistry;
+import com.tripzin.techminds.security.services.UserDetailsImpl;
 import com.tripzin.techminds.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,6 +20,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 public class AuthTokenFilter extends OncePerRequestFilter {
@@ -25,20 +31,31 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
     
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Autowired
+    private RoleAuthorityRegistry roleAuthorities;
+    
+    @Value("${jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
+    
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            Optional<Claims> claims = jwt != null ? jwtUtils.verifyJwtToken(jwt) : Optional.empty();
+            if (claims.isPresent()) {
+                UserDetails userDetails = resolvePrincipal(claims.get());
                 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
@@ -47,6 +64,31 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private UserDetails resolvePrincipal(Claims claims) {
+        // Refresh tokens are only accepted by the refresh endpoint
+        if (jwtUtils.isRefreshToken(claims)) {
+            log.error("Refresh token used as access token for: {}", claims.getSubject());
+            return null;
+        }
+        
+        if (statelessPrincipal && jwtUtils.hasPrincipalClaims(claims)) {
+            UserDetailsImpl principal = jwtUtils.getPrincipalFromJwtClaims(claims, roleAuthorities);
+            if (!tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+                log.error("JWT token has been revoked for: {}", claims.getSubject());
+                return null;
+            }
+            return principal;
+        }
+        
+        UserDetailsImpl userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+        Integer tokenVersion = jwtUtils.getTokenVersion(claims);
+        if (tokenVersion != null && tokenVersion != userDetails.getTokenVersion()) {
+            log.error("JWT token has been revoked for: {}", claims.getSubject());
+            return null;
+        }
+        return userDetails;
+    }
+    
     private String parseJwt(HttpServletRequest request) {
         String jwt = jwtUtils.getJwtFromHeader(request);
         if (jwt == null) {
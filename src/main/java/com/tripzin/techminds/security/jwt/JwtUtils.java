@@ -1,24 +1,47 @@
 package com.tripzin.techminds.security.jwt;
 
+import com.tripzin.techminds.security.services.RoleAuthorityRegistry;
 import com.tripzin.techminds.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @Slf4j
 public class JwtUtils {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_EMAIL_VERIFIED = "ev";
+    public static final String CLAIM_ACCOUNT_VERIFIED = "av";
+    public static final String CLAIM_TOKEN_VERSION = "tv";
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -28,51 +51,174 @@ public class JwtUtils {
     @Value("${jwt.refresh-token-expiration}")
     private int jwtRefreshExpirationMs;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    private Key signingKey;
+
+    private JwtParser parser;
+
+    // Recently verified tokens keyed by SHA-256 digest, held until the token expires
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
     public String generateAccessToken(UserDetailsImpl userPrincipal) {
-        return generateTokenFromUsername(userPrincipal.getUsername(), jwtAccessExpirationMs);
+        // Permissions are expanded from the roles when the token is read
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .filter(RoleAuthorityRegistry::isRole)
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return tokenBuilder(userPrincipal.getUsername(), jwtAccessExpirationMs)
+                .claim(CLAIM_TOKEN_TYPE, ACCESS_TOKEN)
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_EMAIL_VERIFIED, userPrincipal.isEmailVerified())
+                .claim(CLAIM_ACCOUNT_VERIFIED, userPrincipal.isAccountVerified())
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion())
+                .compact();
     }
 
     public String generateRefreshToken(UserDetailsImpl userPrincipal) {
-        return generateTokenFromUsername(userPrincipal.getUsername(), jwtRefreshExpirationMs);
+        return tokenBuilder(userPrincipal.getUsername(), jwtRefreshExpirationMs)
+                .setId(UUID.randomUUID().toString())
+                .claim(CLAIM_TOKEN_TYPE, REFRESH_TOKEN)
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion())
+                .compact();
     }
 
     public String generateTokenFromUsername(String username, int expirationMs) {
+        return tokenBuilder(username, expirationMs).compact();
+    }
+
+    private JwtBuilder tokenBuilder(String username, int expirationMs) {
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + expirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256);
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
+    /**
+     * Verifies the token signature and expiry once and returns its claims.
+     * The returned claims are shared with the verification cache and must be treated as read-only.
+     */
+    public Optional<Claims> verifyJwtToken(String token) {
+        if (token == null || token.isEmpty()) {
+            log.error("JWT claims string is empty");
+            return Optional.empty();
+        }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (cached.expiresAtMs() > now) {
+                return Optional.of(cached.claims());
+            }
+            verifiedTokens.remove(digest, cached);
+            log.error("JWT token is expired: {}", cached.claims().getExpiration());
+            return Optional.empty();
+        }
 
-    public boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(authToken);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            cache(digest, claims);
+            return Optional.of(claims);
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (SignatureException e) {
+            log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return Optional.empty();
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        return verifyJwtToken(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new MalformedJwtException("Invalid JWT token"));
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return verifyJwtToken(authToken).isPresent();
+    }
+
+    public boolean isAccessToken(Claims claims) {
+        return ACCESS_TOKEN.equals(claims.get(CLAIM_TOKEN_TYPE, String.class));
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN.equals(claims.get(CLAIM_TOKEN_TYPE, String.class));
+    }
+
+    /**
+     * Returns the token version the token was issued with, or null for tokens issued before versioning.
+     */
+    public Integer getTokenVersion(Claims claims) {
+        return claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+    }
+
+    /**
+     * Whether the access token carries everything needed to rebuild the principal without a database lookup.
+     */
+    public boolean hasPrincipalClaims(Claims claims) {
+        return isAccessToken(claims)
+                && claims.get(CLAIM_USER_ID) != null
+                && claims.get(CLAIM_ROLES) != null
+                && claims.get(CLAIM_TOKEN_VERSION) != null;
+    }
+
+    public UserDetailsImpl getPrincipalFromJwtClaims(Claims claims, RoleAuthorityRegistry roleAuthorities) {
+        List<GrantedAuthority> authorities = roleAuthorities.authoritiesForRoleNames(claims.get(CLAIM_ROLES, List.class));
+
+        return new UserDetailsImpl(
+                claims.get(CLAIM_USER_ID, Long.class),
+                null,
+                null,
+                claims.getSubject(),
+                null,
+                null,
+                Boolean.TRUE.equals(claims.get(CLAIM_EMAIL_VERIFIED, Boolean.class)),
+                Boolean.TRUE.equals(claims.get(CLAIM_ACCOUNT_VERIFIED, Boolean.class)),
+                claims.get(CLAIM_TOKEN_VERSION, Integer.class),
+                authorities);
+    }
+
+    private void cache(String digest, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || verifiedCacheSize <= 0) {
+            return;
+        }
+        // Start over once full rather than scanning for expired entries on every miss
+        if (verifiedTokens.size() >= verifiedCacheSize) {
+            verifiedTokens.clear();
+        }
+        verifiedTokens.put(digest, new VerifiedToken(claims, expiration.getTime()));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record VerifiedToken(Claims claims, long expiresAtMs) {
     }
 
     public ResponseCookie generateJwtCookie(String token) {
@@ -0,0 +1,142 @@
+package com.tripzin.techminds.security.jwt;
+
+import com.tripzin.techminds.repository.RevokedRefreshTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked refresh token ids. Postgres holds the list; it is mirrored into a Bloom filter and an
+ * exact set so the check on every refresh stays in memory, and almost always ends at the Bloom filter.
+ * Ids revoked by other instances are pulled in periodically, and the primary key on insert is what
+ * enforces single use, so a token revoked elsewhere cannot be replayed here in between.
+ */
+@Component
+@Slf4j
+public class RefreshTokenRevocationList {
+    
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    
+    private final RevokedRefreshTokenRepository repository;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    
+    // Revoked jti to the moment its token expires, after which it no longer needs to be tracked
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    
+    private volatile BloomFilter filter;
+    
+    // revoked_at is stamped before commit, so each sync re-reads a window behind the previous one
+    private volatile LocalDateTime syncedUntil;
+    
+    public RefreshTokenRevocationList(RevokedRefreshTokenRepository repository,
+                                      @Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                                      @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+    
+    @PostConstruct
+    void load() {
+        syncedUntil = LocalDateTime.now();
+        repository.findByExpiresAtAfter(syncedUntil)
+                .forEach(token -> revoked.put(token.getJti(), token.getExpiresAt()));
+        rebuildFilter();
+        log.info("Loaded {} revoked refresh tokens", revoked.size());
+    }
+    
+    public boolean isRevoked(String jti) {
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+        if (revoked.containsKey(jti)) {
+            return true;
+        }
+        // A Bloom hit the local set does not confirm: a false positive, or an id not mirrored here yet
+        return repository.findById(jti)
+                .map(token -> {
+                    remember(token.getJti(), token.getExpiresAt());
+                    return true;
+                })
+                .orElse(false);
+    }
+    
+    /**
+     * Revokes the token id. The in-memory mirror is updated once the surrounding transaction commits.
+     *
+     * @return false if it had already been revoked, for example by a concurrent refresh with the same token,
+     *         here or on another instance
+     */
+    @Transactional
+    public boolean revoke(String jti, Long userId, Date expiration) {
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault());
+        if (revoked.containsKey(jti)) {
+            return false;
+        }
+        
+        // Blocks on a concurrent uncommitted insert of the same id, and reports 0 once that one commits
+        if (repository.insertIfAbsent(jti, userId, expiresAt) == 0) {
+            remember(jti, expiresAt);
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(jti, expiresAt);
+            }
+        });
+        return true;
+    }
+    
+    /**
+     * Mirrors ids revoked by other instances since the last sync.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:30000}")
+    public void syncFromDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = syncedUntil.minus(SYNC_OVERLAP);
+        repository.findByRevokedAtAfterAndExpiresAtAfter(since, now)
+                .forEach(token -> remember(token.getJti(), token.getExpiresAt()));
+        syncedUntil = now;
+    }
+    
+    /**
+     * Drops tokens that have expired on their own and rebuilds the filter without them.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = repository.deleteExpired(now);
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        rebuildFilter();
+        log.debug("Purged {} expired revoked refresh tokens", deleted);
+    }
+    
+    private void remember(String jti, LocalDateTime expiresAt) {
+        if (revoked.putIfAbsent(jti, expiresAt) == null) {
+            filter.add(jti);
+        }
+    }
+    
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        // Catch ids revoked into the old filter while this one was being filled
+        revoked.keySet().forEach(rebuilt::add);
+    }
+}
@@ -0,0 +1,69 @@
+package com.tripzin.techminds.security.ratelimit;
+
+import com.tripzin.techminds.exception.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-IP and per-account throttling for the unauthenticated /auth endpoints, applied before any
+ * password hashing, database work or email is done for the request.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthRateLimiter {
+    
+    private final RateLimitProperties properties;
+    
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    
+    public void check(String route, HttpServletRequest request, String account) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        RateLimitProperties.RoutePolicy policy = properties.getRoutes().get(route);
+        if (policy == null) {
+            return;
+        }
+        
+        long now = System.nanoTime();
+        if (policy.getPerIp() != null) {
+            acquire(route + "|ip|" + request.getRemoteAddr(), policy.getPerIp(), now);
+        }
+        if (policy.getPerAccount() != null && account != null && !account.isBlank()) {
+            acquire(route + "|account|" + account.trim().toLowerCase(Locale.ROOT), policy.getPerAccount(), now);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+    
+    private void acquire(String key, RateLimitProperties.Limit limit, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                evictIdleBuckets();
+            }
+            bucket = buckets.computeIfAbsent(key,
+                    k -> new TokenBucket(limit.getCapacity(), limit.getPeriod().toNanos(), now));
+        }
+        
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            log.debug("Rate limit exceeded for {}", key);
+            throw new TooManyRequestsException("Too many requests, please retry later", retryAfterSeconds);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tripzin.techminds.security.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+    
+    private boolean enabled = true;
+    
+    private int maxBuckets = 100_000;
+    
+    private Map<String, RoutePolicy> routes = new HashMap<>();
+    
+    @Data
+    public static class RoutePolicy {
+        
+        private Limit perIp;
+        
+        private Limit perAccount;
+    }
+    
+    @Data
+    public static class Limit {
+        
+        private int capacity;
+        
+        private Duration period;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tripzin.techminds.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole state is the
+ * theoretical arrival time of the next request, updated with a single compare-and-set.
+ */
+final class TokenBucket {
+    
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+    
+    TokenBucket(int capacity, long periodNanos, long now) {
+        this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+    
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token becomes available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + emissionIntervalNanos;
+            long allowedAt = next - burstNanos;
+            if (allowedAt - now > 0) {
+                return allowedAt - now;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * A bucket that has refilled completely carries no state worth keeping.
+     */
+    boolean isIdle(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+}
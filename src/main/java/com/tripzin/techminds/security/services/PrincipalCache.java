@@ -0,0 +1,155 @@
+package com.tripzin.techminds.security.services;
+
+import com.tripzin.techminds.dto.response.PrincipalCacheStats;
+import com.tripzin.techminds.event.RolePermissionsChangedEvent;
+import com.tripzin.techminds.event.UserSecurityChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of principals keyed by the username they were loaded with.
+ * Concurrent lookups of the same missing username share a single load.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+    
+    private final int maxSize;
+    private final long ttlNanos;
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    public PrincipalCache(@Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${app.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+    
+    public UserDetailsImpl get(String username, Function<String, UserDetailsImpl> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(username);
+        if (entry != null) {
+            if (!entry.isExpired(now)) {
+                hits.increment();
+                return join(entry.value());
+            }
+            if (entries.remove(username, entry)) {
+                evictions.increment();
+            }
+        }
+        
+        Entry created = new Entry(new CompletableFuture<>(), now + ttlNanos);
+        Entry existing = entries.putIfAbsent(username, created);
+        if (existing != null) {
+            // Another request is already loading or has just loaded this user
+            hits.increment();
+            return join(existing.value());
+        }
+        
+        misses.increment();
+        try {
+            UserDetailsImpl principal = loader.apply(username);
+            created.value().complete(principal);
+            trimToSize(now);
+            return principal;
+        } catch (RuntimeException e) {
+            entries.remove(username, created);
+            created.value().completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    public void evictUser(Long userId) {
+        // Loads still in flight may have read the old state, so drop them as well
+        entries.entrySet().removeIf(e -> {
+            CompletableFuture<UserDetailsImpl> value = e.getValue().value();
+            boolean stale = !value.isDone()
+                    || (!value.isCompletedExceptionally() && Objects.equals(value.join().getId(), userId));
+            if (stale) {
+                evictions.increment();
+            }
+            return stale;
+        });
+    }
+    
+    public void evictAll() {
+        evictions.add(entries.size());
+        entries.clear();
+    }
+    
+    public PrincipalCacheStats stats() {
+        return new PrincipalCacheStats(entries.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        log.debug("Evicting cached principal for user {}", event.userId());
+        evictUser(event.userId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        log.debug("Evicting all cached principals after a role change");
+        evictAll();
+    }
+    
+    private void trimToSize(long now) {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().isExpired(now);
+            if (expired) {
+                evictions.increment();
+            }
+            return expired;
+        });
+        
+        int overflow = entries.size() - maxSize;
+        if (overflow > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().expiresAtNanos()))
+                    .limit(overflow)
+                    .toList()
+                    .forEach(e -> {
+                        if (entries.remove(e.getKey(), e.getValue())) {
+                            evictions.increment();
+                        }
+                    });
+        }
+    }
+    
+    private static UserDetailsImpl join(CompletableFuture<UserDetailsImpl> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private record Entry(CompletableFuture<UserDetailsImpl> value, long expiresAtNanos) {
+        
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
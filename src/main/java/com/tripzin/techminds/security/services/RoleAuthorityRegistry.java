@@ -0,0 +1,122 @@
+package com.tripzin.techminds.security.services;
+
+import com.tripzin.techminds.entity.ERole;
+import com.tripzin.techminds.entity.Permission;
+import com.tripzin.techminds.entity.Role;
+import com.tripzin.techminds.event.RolePermissionsChangedEvent;
+import com.tripzin.techminds.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable authority lists for every combination of roles, holding each role plus the permissions
+ * granted to it. Authority instances are interned, so building a principal is a bitmask lookup.
+ * Rebuilt from the database whenever roles or permissions change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoleAuthorityRegistry {
+    
+    public static final String ROLE_PREFIX = "ROLE_";
+    
+    private static final ERole[] ROLES = ERole.values();
+    
+    private final RoleRepository roleRepository;
+    
+    // Indexed by a bitmask of ERole ordinals
+    private volatile List<GrantedAuthority>[] authoritiesByMask;
+    
+    @PostConstruct
+    public void reload() {
+        authoritiesByMask = buildAuthorities(roleRepository.findAllWithPermissions());
+        log.debug("Loaded authorities for {} roles", ROLES.length);
+    }
+    
+    public List<GrantedAuthority> authoritiesFor(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= 1 << role.getName().ordinal();
+        }
+        return authoritiesByMask[mask];
+    }
+    
+    /**
+     * Authorities for the role names carried in an access token. Names that are not roles are ignored,
+     * so permissions always reflect the current role definitions rather than those at issue time.
+     */
+    public List<GrantedAuthority> authoritiesForRoleNames(Collection<?> roleNames) {
+        int mask = 0;
+        for (Object roleName : roleNames) {
+            for (ERole role : ROLES) {
+                if (role.name().equals(roleName)) {
+                    mask |= 1 << role.ordinal();
+                    break;
+                }
+            }
+        }
+        return authoritiesByMask[mask];
+    }
+    
+    public static boolean isRole(GrantedAuthority authority) {
+        return authority.getAuthority().startsWith(ROLE_PREFIX);
+    }
+    
+    // Runs before listeners that re-read authorities, such as the principal cache
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRolePermissionsChanged(RolePermissionsChangedEvent event) {
+        log.info("Reloading role authorities");
+        reload();
+    }
+    
+    @SuppressWarnings("unchecked")
+    static List<GrantedAuthority>[] buildAuthorities(Collection<Role> roles) {
+        Map<String, GrantedAuthority> interned = new HashMap<>();
+        List<Set<GrantedAuthority>> perRole = new ArrayList<>(ROLES.length);
+        for (ERole role : ROLES) {
+            Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+            authorities.add(interned.computeIfAbsent(role.name(), SimpleGrantedAuthority::new));
+            perRole.add(authorities);
+        }
+        for (Role role : roles) {
+            Set<GrantedAuthority> authorities = perRole.get(role.getName().ordinal());
+            for (Permission permission : role.getPermissions()) {
+                authorities.add(interned.computeIfAbsent(permission.getName(), SimpleGrantedAuthority::new));
+            }
+        }
+        
+        List<GrantedAuthority>[] byMask = new List[1 << ROLES.length];
+        for (int mask = 0; mask < byMask.length; mask++) {
+            Set<GrantedAuthority> merged = new LinkedHashSet<>();
+            // Roles first so they lead the list, then their permissions
+            for (ERole role : ROLES) {
+                if ((mask & (1 << role.ordinal())) != 0) {
+                    merged.add(interned.get(role.name()));
+                }
+            }
+            for (ERole role : ROLES) {
+                if ((mask & (1 << role.ordinal())) != 0) {
+                    merged.addAll(perRole.get(role.ordinal()));
+                }
+            }
+            byMask[mask] = List.copyOf(merged);
+        }
+        return byMask;
+    }
+}
@@ -0,0 +1,82 @@
+package com.tripzin.techminds.security.services;
+
+import com.tripzin.techminds.event.UserSecurityChangedEvent;
+import com.tripzin.techminds.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the current token version of each user in memory so stateless tokens can be checked
+ * without a database round trip. Versions are loaded on first use and dropped once a change
+ * to the user has been committed here. Changes committed on other instances are picked up when
+ * the entry expires after {@code ttl}, or at once by the first token carrying a newer version.
+ * The map holds at most {@code maxSize} users; past that it is cleared and refills from the active users.
+ */
+@Component
+@Slf4j
+public class TokenVersionRegistry {
+    
+    private static final int DELETED = -1;
+    
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+    
+    private final Map<Long, Entry> versions = new ConcurrentHashMap<>();
+    
+    // Bumped by every invalidation, so a load that raced one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${app.security.token-versions.max-size:100000}") int maxSize,
+                                @Value("${app.security.token-versions.ttl:30s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+    
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        long now = System.nanoTime();
+        Entry entry = versions.get(userId);
+        // Versions only grow, so a token newer than the cached version means the cache is behind,
+        // e.g. after a logout-all or password change handled by another instance
+        if (entry == null || entry.isExpired(now) || tokenVersion > entry.version()) {
+            entry = load(userId, now);
+        }
+        return entry.version() != DELETED && entry.version() == tokenVersion;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        log.debug("Dropping cached token version for user {}", event.userId());
+        invalidations.incrementAndGet();
+        versions.remove(event.userId());
+    }
+    
+    private Entry load(Long userId, long now) {
+        // Loaded outside the map so the query does not hold a map lock shared with other users
+        long stamp = invalidations.get();
+        Entry loaded = new Entry(userRepository.findTokenVersionById(userId).orElse(DELETED), now + ttlNanos);
+        if (versions.size() >= maxSize) {
+            versions.clear();
+        }
+        if (invalidations.get() == stamp) {
+            versions.put(userId, loaded);
+        }
+        return loaded;
+    }
+    
+    private record Entry(int version, long expiresAtNanos) {
+        
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
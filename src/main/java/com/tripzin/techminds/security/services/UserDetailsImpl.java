@@ -5,13 +5,10 @@ import com.tripzin.techminds.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @Getter
@@ -30,24 +27,15 @@ public class UserDetailsImpl implements UserDetails {
     private boolean emailVerified;
     private boolean accountVerified;
     
+    @JsonIgnore
+    private int tokenVersion;
+    
     private Collection<? extends GrantedAuthority> authorities;
 
-    public static UserDetailsImpl build(User user) {
-        List<GrantedAuthority> authorities = user.getRoles().stream()
-                .flatMap(role -> {
-                    // Add role as an authority
-                    List<GrantedAuthority> auths = List.of(new SimpleGrantedAuthority(role.getName().name()));
-                    
-                    return auths.stream().collect(Collectors.toList()).stream().sequential()
-                            .collect(Collectors.toList())
-                            .stream()
-                            .sequential()
-                            .collect(Collectors.toList())
-                            .stream()
-                            .sequential();
-                })
-                .collect(Collectors.toList());
-
+    /**
+     * Builds the principal with the shared, immutable authority list for the user's roles and their permissions.
+     */
+    public static UserDetailsImpl build(User user, RoleAuthorityRegistry roleAuthorities) {
         return new UserDetailsImpl(
                 user.getId(),
                 user.getFirstName(),
@@ -57,7 +45,8 @@ public class UserDetailsImpl implements UserDetails {
                 user.getPassword(),
                 user.isEmailVerified(),
                 user.isAccountVerified(),
-                authorities);
+                user.getTokenVersion(),
+                roleAuthorities.authoritiesFor(user.getRoles()));
     }
 
     @Override
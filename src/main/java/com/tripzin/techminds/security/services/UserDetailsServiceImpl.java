@@ -1,31 +1,74 @@
 package com.tripzin.techminds.security.services;
 
 import com.tripzin.techminds.entity.User;
+import com.tripzin.techminds.event.UserSecurityChangedEvent;
 import com.tripzin.techminds.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    @Autowired
+    private RoleAuthorityRegistry roleAuthorities;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.security.principal-cache.enabled:true}")
+    private boolean cacheEnabled;
+    
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Try to find by email first
-        User user = userRepository.findByEmail(username)
-                .orElseGet(() -> {
-                    // If not found by email, try by phone
-                    return userRepository.findByPhone(username)
-                            .orElseThrow(() -> new UsernameNotFoundException("User not found with email or phone: " + username));
-                });
+        if (!cacheEnabled) {
+            return loadUser(username);
+        }
+        return principalCache.get(username, this::loadUser);
+    }
+    
+    /**
+     * Stores a password re-hashed with the current BCrypt strength. The token version is left alone
+     * because the password itself did not change.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        Long userId = ((UserDetailsImpl) userDetails).getId();
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
+        
+        user.setPassword(newPassword);
+        User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(userId));
+        
+        return UserDetailsImpl.build(updatedUser, roleAuthorities);
+    }
+    
+    private UserDetailsImpl loadUser(String username) {
+        List<User> matches = userRepository.findAllByEmailOrPhone(username);
+        
+        // Prefer the email match if the identifier is one user's email and another user's phone
+        User user = matches.stream()
+                .filter(candidate -> username.equals(candidate.getEmail()))
+                .findFirst()
+                .or(() -> matches.stream().findFirst())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email or phone: " + username));
         
-        return UserDetailsImpl.build(user);
+        return UserDetailsImpl.build(user, roleAuthorities);
     }
 }
@@ -10,6 +10,7 @@ import com.tripzin.techminds.entity.ERole;
 import com.tripzin.techminds.entity.Role;
 import com.tripzin.techminds.entity.User;
 import com.tripzin.techminds.entity.VerificationToken;
+import com.tripzin.techminds.event.UserSecurityChangedEvent;
 import com.tripzin.techminds.exception.BadRequestException;
 import com.tripzin.techminds.exception.ResourceNotFoundException;
 import com.tripzin.techminds.exception.TokenRefreshException;
@@ -17,9 +18,13 @@ import com.tripzin.techminds.repository.RoleRepository;
 import com.tripzin.techminds.repository.UserRepository;
 import com.tripzin.techminds.repository.VerificationTokenRepository;
 import com.tripzin.techminds.security.jwt.JwtUtils;
+import com.tripzin.techminds.security.jwt.RefreshTokenRevocationList;
+import com.tripzin.techminds.security.services.RoleAuthorityRegistry;
 import com.tripzin.techminds.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -43,7 +48,10 @@ public class AuthService {
     private final VerificationTokenRepository tokenRepository;
     private final PasswordEncoder encoder;
     private final JwtUtils jwtUtils;
+    private final RoleAuthorityRegistry roleAuthorities;
+    private final RefreshTokenRevocationList revocationList;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public JwtResponse authenticateUser(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -56,6 +64,7 @@ public class AuthService {
         String refreshToken = jwtUtils.generateRefreshToken(userDetails);
         
         List<String> roles = userDetails.getAuthorities().stream()
+                .filter(RoleAuthorityRegistry::isRole)
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
         
@@ -158,6 +167,7 @@ public class AuthService {
         User user = verificationToken.getUser();
         user.setEmailVerified(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId()));
         
         tokenRepository.delete(verificationToken);
         
@@ -198,21 +208,70 @@ public class AuthService {
         return MessageResponse.success("Verification email resent successfully!");
     }
     
+    @Transactional
     public TokenRefreshResponse refreshToken(TokenRefreshRequest request) {
         String requestRefreshToken = request.getRefreshToken();
         
-        if (!jwtUtils.validateJwtToken(requestRefreshToken)) {
-            throw new TokenRefreshException("Invalid refresh token");
+        Claims claims = jwtUtils.verifyJwtToken(requestRefreshToken)
+                .orElseThrow(() -> new TokenRefreshException("Invalid refresh token"));
+        
+        if (jwtUtils.isAccessToken(claims)) {
+            throw new TokenRefreshException("Access token cannot be used to refresh");
+        }
+        
+        // Rotated and signed-out tokens are rejected before touching the database
+        String jti = claims.getId();
+        if (jti != null && revocationList.isRevoked(jti)) {
+            throw new TokenRefreshException("Refresh token has been revoked");
         }
         
-        String username = jwtUtils.getUserNameFromJwtToken(requestRefreshToken);
+        String username = claims.getSubject();
         
         User user = userRepository.findByEmail(username)
                 .orElseThrow(() -> new TokenRefreshException("User not found for token: " + requestRefreshToken));
         
-        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        Integer tokenVersion = jwtUtils.getTokenVersion(claims);
+        if (tokenVersion != null && tokenVersion != user.getTokenVersion()) {
+            throw new TokenRefreshException("Refresh token has been revoked");
+        }
+        
+        // Each refresh token is single use; a concurrent refresh with the same token loses
+        if (jti != null && !revocationList.revoke(jti, user.getId(), claims.getExpiration())) {
+            throw new TokenRefreshException("Refresh token has been revoked");
+        }
+        
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user, roleAuthorities);
         String newAccessToken = jwtUtils.generateAccessToken(userDetails);
+        String newRefreshToken = jwtUtils.generateRefreshToken(userDetails);
+        
+        return new TokenRefreshResponse(newAccessToken, newRefreshToken, "Bearer");
+    }
+    
+    @Transactional
+    public MessageResponse logout(TokenRefreshRequest request) {
+        Claims claims = jwtUtils.verifyJwtToken(request.getRefreshToken())
+                .orElseThrow(() -> new TokenRefreshException("Invalid refresh token"));
+        
+        if (!jwtUtils.isRefreshToken(claims) || claims.getId() == null) {
+            throw new TokenRefreshException("Token cannot be revoked");
+        }
+        
+        Long userId = claims.get(JwtUtils.CLAIM_USER_ID, Long.class);
+        revocationList.revoke(claims.getId(), userId, claims.getExpiration());
+        
+        return MessageResponse.success("Logged out successfully");
+    }
+    
+    @Transactional
+    public MessageResponse logoutAllDevices(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        
+        // Every access and refresh token issued so far carries the old version
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(userId));
         
-        return new TokenRefreshResponse(newAccessToken, requestRefreshToken, "Bearer");
+        return MessageResponse.success("Logged out from all devices");
     }
 }
@@ -5,6 +5,7 @@ import com.tripzin.techminds.dto.response.MessageResponse;
 import com.tripzin.techminds.entity.ERole;
 import com.tripzin.techminds.entity.Role;
 import com.tripzin.techminds.entity.User;
+import com.tripzin.techminds.event.UserSecurityChangedEvent;
 import com.tripzin.techminds.exception.BadRequestException;
 import com.tripzin.techminds.exception.ResourceNotFoundException;
 import com.tripzin.techminds.repository.RoleRepository;
@@ -12,6 +13,7 @@ import com.tripzin.techminds.repository.UserRepository;
 import com.tripzin.techminds.repository.VerificationTokenRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +32,7 @@ public class UserService {
     private final RoleRepository roleRepository;
     private final VerificationTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<UserDTO> getAllUsers() {
         return userRepository.findAll().stream()
@@ -58,6 +61,8 @@ public class UserService {
         user.setFirstName(userDTO.getFirstName());
         user.setLastName(userDTO.getLastName());
         
+        boolean securityChanged = false;
+        
         // Check if email is being changed
         if (!user.getEmail().equals(userDTO.getEmail())) {
             if (userRepository.existsByEmail(userDTO.getEmail())) {
@@ -65,6 +70,7 @@ public class UserService {
             }
             user.setEmail(userDTO.getEmail());
             user.setEmailVerified(false);
+            securityChanged = true;
             // TODO: Send verification email for new email
         }
         
@@ -79,9 +85,16 @@ public class UserService {
         // Update password if provided
         if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+            securityChanged = true;
+        }
+        
+        // Invalidate tokens issued with the old email or password
+        if (securityChanged) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
         }
         
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(updatedUser.getId()));
         return UserDTO.fromEntity(updatedUser);
     }
     
@@ -95,6 +108,7 @@ public class UserService {
         
         // Delete user
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(id));
         
         return MessageResponse.success("User deleted successfully");
     }
@@ -118,7 +132,10 @@ public class UserService {
         });
         
         user.setRoles(roles);
+        // Invalidate tokens carrying the old roles
+        user.setTokenVersion(user.getTokenVersion() + 1);
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(userId));
         
         return UserDTO.fromEntity(updatedUser);
     }
@@ -130,6 +147,7 @@ public class UserService {
         
         user.setAccountVerified(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(userId));
         
         return MessageResponse.success("User account verified successfully");
     }
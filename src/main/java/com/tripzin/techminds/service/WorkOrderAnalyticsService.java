@@ -0,0 +1,85 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.dto.response.WorkOrderAnalytics;
+import com.tripzin.techminds.exception.BadRequestException;
+import com.tripzin.techminds.repository.WorkOrderRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Time-bucketed work-order analytics, answered from the daily rollup table. The rollup is refreshed
+ * on a schedule by re-aggregating only the days touched since the last refresh.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkOrderAnalyticsService {
+    
+    private static final Set<String> BUCKETS = Set.of("day", "week", "month");
+    private static final long MAX_RANGE_DAYS = 5 * 366;
+    
+    private final WorkOrderRollupRepository rollupRepository;
+    
+    // Rows committed late with an earlier updated_at (long transactions, clock skew) are still picked up
+    @Value("${app.work-orders.analytics.watermark-overlap:5m}")
+    private Duration watermarkOverlap;
+    
+    public WorkOrderAnalytics getAnalytics(String bucket, String groupBy, LocalDate from, LocalDate to) {
+        if (!BUCKETS.contains(bucket)) {
+            throw new BadRequestException("Unknown bucket '" + bucket + "'; use one of " + new TreeSet<>(BUCKETS));
+        }
+        if (!WorkOrderRollupRepository.GROUP_COLUMNS.containsKey(groupBy)) {
+            throw new BadRequestException("Unknown groupBy '" + groupBy + "'; use one of "
+                    + new TreeSet<>(WorkOrderRollupRepository.GROUP_COLUMNS.keySet()));
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) > MAX_RANGE_DAYS) {
+            throw new BadRequestException("from must not be after to, and the range may span at most five years");
+        }
+        
+        return new WorkOrderAnalytics(bucket, groupBy, start, end, rollupRepository.aggregate(bucket, groupBy, start, end));
+    }
+    
+    @Scheduled(fixedDelayString = "${app.work-orders.analytics.refresh-interval:60000}")
+    @Transactional
+    public void refreshRollup() {
+        if (!rollupRepository.tryLockForRefresh()) {
+            log.debug("Work-order rollup refresh already running elsewhere");
+            return;
+        }
+        
+        LocalDateTime startedAt = rollupRepository.currentTimestamp();
+        LocalDateTime watermark = rollupRepository.findWatermark();
+        if (watermark == null) {
+            log.info("Building work-order rollup from scratch");
+            rollupRepository.rebuildAll();
+            rollupRepository.updateWatermark(startedAt);
+            return;
+        }
+        
+        List<LocalDate> dirtyDays = rollupRepository.findDirtyDays();
+        Set<LocalDate> days = new TreeSet<>(dirtyDays);
+        days.addAll(rollupRepository.findDaysUpdatedSince(watermark.minus(watermarkOverlap)));
+        
+        days.forEach(rollupRepository::rebuildDay);
+        rollupRepository.clearDirtyDays(dirtyDays);
+        rollupRepository.updateWatermark(startedAt);
+        
+        if (!days.isEmpty()) {
+            log.debug("Refreshed work-order rollup for {} day(s)", days.size());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.dto.request.WorkOrderBulkRequest;
+import com.tripzin.techminds.dto.response.WorkOrderBulkResult;
+import com.tripzin.techminds.entity.WorkOrder;
+import com.tripzin.techminds.event.WorkOrderChangedEvent;
+import com.tripzin.techminds.exception.BadRequestException;
+import com.tripzin.techminds.exception.ResourceNotFoundException;
+import com.tripzin.techminds.repository.UserRepository;
+import com.tripzin.techminds.repository.WorkOrderRepository;
+import com.tripzin.techminds.repository.spec.WorkOrderSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.ToIntFunction;
+
+/**
+ * Set-based status, updater and assignment changes and deletes. Each chunk of at most
+ * {@code chunkSize} rows is one {@code UPDATE} or {@code DELETE} statement in its own transaction,
+ * so row locks are held briefly however many orders match.
+ */
+@Service
+@Slf4j
+public class WorkOrderBulkService {
+    
+    private final WorkOrderRepository workOrderRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    
+    public WorkOrderBulkService(WorkOrderRepository workOrderRepository,
+                                UserRepository userRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.work-orders.bulk.chunk-size:1000}") int chunkSize) {
+        this.workOrderRepository = workOrderRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+    
+    public WorkOrderBulkResult updateWorkOrders(WorkOrderBulkRequest request) {
+        Map<String, Object> changes = changesOf(request);
+        return run(request, ids -> workOrderRepository.updateAll(ids, changes));
+    }
+    
+    public WorkOrderBulkResult deleteWorkOrders(WorkOrderBulkRequest request) {
+        return run(request, workOrderRepository::deleteAllByIdIn);
+    }
+    
+    private WorkOrderBulkResult run(WorkOrderBulkRequest request, ToIntFunction<List<Long>> statement) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byFilter = request.getFilter() != null && !request.getFilter().isEmpty();
+        if (byIds == byFilter) {
+            throw new BadRequestException("Select work orders by either ids or filter");
+        }
+        
+        long affected = 0;
+        int chunks = 0;
+        try {
+            if (byIds) {
+                List<Long> ids = request.getIds().stream().distinct().toList();
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                    affected += transactionTemplate.execute(status -> statement.applyAsInt(chunk));
+                    chunks++;
+                }
+            } else {
+                Specification<WorkOrder> spec = WorkOrderSpecification.filterBy(checkFilter(request.getFilter()));
+                Long afterId = null;
+                while (true) {
+                    Long lastId = afterId;
+                    // Ids are re-selected and changed in the same transaction, so rows that stopped matching
+                    // the filter since the previous chunk are left alone
+                    Chunk chunk = transactionTemplate.execute(status -> {
+                        List<Long> ids = workOrderRepository.findIdsAfter(spec, lastId, chunkSize);
+                        return new Chunk(ids, ids.isEmpty() ? 0 : statement.applyAsInt(ids));
+                    });
+                    if (chunk.ids().isEmpty()) {
+                        break;
+                    }
+                    affected += chunk.affected();
+                    chunks++;
+                    if (chunk.ids().size() < chunkSize) {
+                        break;
+                    }
+                    afterId = chunk.ids().get(chunk.ids().size() - 1);
+                }
+            }
+        } finally {
+            if (affected > 0) {
+                eventPublisher.publishEvent(WorkOrderChangedEvent.bulk());
+            }
+        }
+        
+        log.info("Bulk operation changed {} work orders in {} chunks", affected, chunks);
+        return new WorkOrderBulkResult(affected, chunks);
+    }
+    
+    private Map<String, Object> changesOf(WorkOrderBulkRequest request) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (request.getOrderStatus() != null) {
+            if (request.getOrderStatus().isBlank()) {
+                throw new BadRequestException("orderStatus must not be blank");
+            }
+            changes.put("orderStatus", request.getOrderStatus());
+        }
+        if (request.getUpdater() != null) {
+            changes.put("updater", request.getUpdater());
+        }
+        if (request.getUserId() != null) {
+            if (request.isUnassign()) {
+                throw new BadRequestException("Set either userId or unassign, not both");
+            }
+            if (!userRepository.existsById(request.getUserId())) {
+                throw new ResourceNotFoundException("User not found with id: " + request.getUserId());
+            }
+            changes.put("user", request.getUserId());
+        } else if (request.isUnassign()) {
+            changes.put("user", null);
+        }
+        if (changes.isEmpty()) {
+            throw new BadRequestException("Nothing to change; set orderStatus, updater, userId or unassign");
+        }
+        // Bulk statements skip @UpdateTimestamp, and the analytics rollup relies on updated_at
+        changes.put("updatedAt", LocalDateTime.now());
+        return changes;
+    }
+    
+    /**
+     * Rejects keys {@link WorkOrderSpecification#filterBy} would ignore, and filters with no value at all,
+     * either of which would silently widen the change to every work order.
+     */
+    private static Map<String, String> checkFilter(Map<String, String> filter) {
+        filter.keySet().forEach(key -> {
+            if (!WorkOrderSpecification.FILTER_KEYS.contains(key)) {
+                throw new BadRequestException("Unknown filter '" + key + "'; filters are "
+                        + new TreeSet<>(WorkOrderSpecification.FILTER_KEYS));
+            }
+        });
+        if (filter.values().stream().allMatch(value -> value == null || value.isEmpty())) {
+            throw new BadRequestException("Filter must have at least one value");
+        }
+        return filter;
+    }
+    
+    private record Chunk(List<Long> ids, int affected) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.event.WorkOrderChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generation counter for the work_orders table, advanced after every committed write.
+ * Anything derived from the table can be tagged with the generation it was computed at
+ * and treated as stale once the generation moves on.
+ * <p>
+ * The counter is per instance. Writes made elsewhere (another instance, or SQL run directly
+ * against the database) are noticed by {@link WorkOrderStatusCounters#reconcile()}, which
+ * advances it, so they show up here within one reconciliation interval.
+ */
+@Component
+public class WorkOrderChangeTracker {
+    
+    private final AtomicLong generation = new AtomicLong();
+    
+    // Generations restart at zero with the process, so tags carry the start time to stay unique across restarts
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    
+    public long generation() {
+        return generation.get();
+    }
+    
+    /**
+     * The current generation as an opaque token, usable as an entity tag for anything derived from the table.
+     */
+    public String tag() {
+        return epoch + "." + generation.get();
+    }
+    
+    /**
+     * Marks the table as changed by a write this instance did not make itself.
+     */
+    public void advance() {
+        generation.incrementAndGet();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkOrderChanged(WorkOrderChangedEvent event) {
+        generation.incrementAndGet();
+    }
+}
@@ -0,0 +1,52 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.repository.spec.WorkOrderSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Exact work-order counts keyed by filter combination. An entry is only reused while no work order
+ * has been written since it was counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkOrderCountCache {
+    
+    private final WorkOrderChangeTracker changeTracker;
+    
+    // Keyed by the applied filters themselves, so no two filter sets can collide on one entry
+    private final Map<Map<String, String>, CachedCount> counts = new ConcurrentHashMap<>();
+    
+    @Value("${app.work-orders.count-cache-size:1000}")
+    private int maxSize;
+    
+    public long count(Map<String, String> filters, LongSupplier exactCount) {
+        // Keys the specification ignores, such as cache-busting parameters, are left out so they cannot
+        // split one count into many entries
+        Map<String, String> signature = WorkOrderSpecification.appliedFilters(filters);
+        long generation = changeTracker.generation();
+        
+        CachedCount cached = counts.get(signature);
+        if (cached != null && cached.generation() == generation) {
+            return cached.count();
+        }
+        
+        // Tagged with the generation read before counting, so a write during the count makes it stale
+        long count = exactCount.getAsLong();
+        if (counts.size() >= maxSize) {
+            counts.values().removeIf(entry -> entry.generation() != generation);
+        }
+        if (counts.size() < maxSize) {
+            counts.put(signature, new CachedCount(generation, count));
+        }
+        return count;
+    }
+    
+    private record CachedCount(long generation, long count) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.entity.WorkOrder;
+import com.tripzin.techminds.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Position of the last row of a keyset page: the sort key value and id it ended on,
+ * plus the ordering it was produced with. Encoded as an opaque base64url token.
+ */
+record WorkOrderCursor(String sortBy, Sort.Direction direction, Comparable<?> value, Long id) {
+    
+    // Keyset sorting needs a NOT NULL column, backed by a (column, id) index
+    private static final Map<String, SortKey> SORT_KEYS = Map.of(
+            "id", new SortKey(Long::valueOf, WorkOrder::getId),
+            "woNumber", new SortKey(Function.identity(), WorkOrder::getWoNumber),
+            "workType", new SortKey(Function.identity(), WorkOrder::getWorkType),
+            "client", new SortKey(Function.identity(), WorkOrder::getClient),
+            "orderStatus", new SortKey(Function.identity(), WorkOrder::getOrderStatus),
+            "clientDueDate", new SortKey(LocalDate::parse, WorkOrder::getClientDueDate));
+    
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    static void checkSortable(String sortBy) {
+        if (!SORT_KEYS.containsKey(sortBy)) {
+            throw new BadRequestException("Keyset paging cannot sort by '" + sortBy + "'; use one of " + SORT_KEYS.keySet());
+        }
+    }
+    
+    static WorkOrderCursor after(WorkOrder last, String sortBy, Sort.Direction direction) {
+        return new WorkOrderCursor(sortBy, direction, SORT_KEYS.get(sortBy).extractor().apply(last), last.getId());
+    }
+    
+    String encode() {
+        String raw = sortBy + ':' + direction.name() + ':' + id + ':' + value;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static WorkOrderCursor decode(String token) {
+        try {
+            // The value goes last because string sort keys may themselves contain ':'
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":", 4);
+            if (parts.length != 4 || !SORT_KEYS.containsKey(parts[0])) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            Comparable<?> value = SORT_KEYS.get(parts[0]).parser().apply(parts[3]);
+            return new WorkOrderCursor(parts[0], Sort.Direction.valueOf(parts[1]), value, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+    
+    private record SortKey(Function<String, ? extends Comparable<?>> parser,
+                           Function<WorkOrder, ? extends Comparable<?>> extractor) {
+    }
+}
@@ -0,0 +1,269 @@
+package com.tripzin.techminds.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripzin.techminds.dto.response.WorkOrderResponse;
+import com.tripzin.techminds.event.WorkOrderChangedEvent;
+import com.tripzin.techminds.exception.ServiceUnavailableException;
+import com.tripzin.techminds.repository.WorkOrderRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed work-order changes out to server-sent event subscribers.
+ * <p>
+ * Each change is serialized once and appended to a replay ring, then offered to every subscriber's
+ * bounded queue; dispatch threads drain the queues, so a slow client never holds up the writer or the
+ * other subscribers. A subscriber whose queue overflows is disconnected and resumes from the ring with
+ * {@code Last-Event-ID}, or is told to {@code resync} if it fell further behind than the ring reaches.
+ * <p>
+ * Events: {@code created} and {@code updated} carry the work order, {@code deleted} its id,
+ * {@code stats-delta} the change to the dashboard stats, and {@code resync} asks the client to reload
+ * (after a bulk change, a restart, or a gap in the replay).
+ */
+@Component
+@Slf4j
+public class WorkOrderEventStream {
+    
+    private static final long RECONNECT_MILLIS = 3000;
+    
+    private final WorkOrderRepository workOrderRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor dispatchExecutor;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    // Sequence numbers restart with the process, so event ids carry the start time to detect a stale Last-Event-ID
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Event[] replay;
+    private long sequence;
+    
+    public WorkOrderEventStream(WorkOrderRepository workOrderRepository,
+                                ObjectMapper objectMapper,
+                                @Qualifier("sseDispatchExecutor") TaskExecutor dispatchExecutor,
+                                @Value("${app.streaming.sse.replay-size:1024}") int replaySize,
+                                @Value("${app.streaming.sse.buffer-size:256}") int bufferSize,
+                                @Value("${app.streaming.sse.max-subscribers:1000}") int maxSubscribers,
+                                @Value("${app.streaming.sse.timeout:30m}") Duration timeout) {
+        this.workOrderRepository = workOrderRepository;
+        this.objectMapper = objectMapper;
+        this.dispatchExecutor = dispatchExecutor;
+        this.replay = new Event[replaySize];
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+    }
+    
+    /**
+     * Opens a stream, first replaying what the client missed since {@code lastEventId} if the ring still
+     * holds it. The client is expected to reconnect, with its last id, when the stream times out.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many open work-order streams, retry later");
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        
+        // Opens the response right away and tells the browser how soon to reconnect
+        subscriber.offer(Event.HEARTBEAT);
+        synchronized (this) {
+            // Under the publish lock, so nothing is missed or delivered twice between the replay and going live
+            replaySince(lastEventId).forEach(subscriber::offer);
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkOrderChanged(WorkOrderChangedEvent event) {
+        if (event.isBulk() || subscribers.isEmpty()) {
+            // With nobody listening the change is neither loaded nor serialized, but it still takes its place
+            // in the ring, so a client reconnecting after a gap is told to resync instead of missing it
+            append("resync", "{}");
+            return;
+        }
+        
+        Long id = event.workOrderId();
+        if (event.after() == null) {
+            publish("deleted", Map.of("id", id));
+        } else {
+            // Loaded once here rather than by every client refetching it
+            workOrderRepository.findWithUserById(id)
+                    .map(WorkOrderResponse::fromEntity)
+                    .ifPresent(workOrder -> publish(event.before() == null ? "created" : "updated", workOrder));
+        }
+        if (!Objects.equals(event.before(), event.after())) {
+            publish("stats-delta", WorkOrderStatusCounters.delta(event.before(), event.after()));
+        }
+    }
+    
+    @Scheduled(fixedRateString = "${app.streaming.sse.heartbeat-interval:15000}")
+    public void heartbeat() {
+        // Keeps proxies from closing idle streams and surfaces dead connections as write errors
+        subscribers.forEach(subscriber -> subscriber.offer(Event.HEARTBEAT));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+    
+    private void publish(String name, Object payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize work-order {} event", name, e);
+            return;
+        }
+        append(name, data);
+    }
+    
+    /**
+     * Numbers the event, keeps it in the replay ring and queues it for every subscriber.
+     */
+    private synchronized void append(String name, String data) {
+        sequence++;
+        Event event = new Event(epoch + "-" + sequence, name, data);
+        replay[(int) (sequence % replay.length)] = event;
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+    
+    /**
+     * Events after {@code lastEventId}, or a single {@code resync} when they are no longer all in the ring.
+     * Must be called holding the publish lock.
+     */
+    private List<Event> replaySince(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        // Carries the current id, so the client does not get sent back to resync on its next reconnect
+        List<Event> resync = List.of(new Event(epoch + "-" + sequence, "resync", "{}"));
+        long last;
+        try {
+            int separator = lastEventId.lastIndexOf('-');
+            if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+                return resync;
+            }
+            last = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return resync;
+        }
+        if (last > sequence || last < sequence - replay.length) {
+            return resync;
+        }
+        List<Event> missed = new ArrayList<>((int) (sequence - last));
+        for (long next = last + 1; next <= sequence; next++) {
+            Event event = replay[(int) (next % replay.length)];
+            if ("resync".equals(event.name())) {
+                // The client reloads everything on resync, so nothing else it missed needs replaying
+                return resync;
+            }
+            missed.add(event);
+        }
+        return missed;
+    }
+    
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Dropping work-order stream subscriber: {}", reason);
+        }
+        subscriber.emitter.complete();
+    }
+    
+    /**
+     * A serialized event; {@code name} null marks a heartbeat comment.
+     */
+    private record Event(String id, String name, String data) {
+        
+        static final Event HEARTBEAT = new Event(null, null, null);
+        
+        SseEmitter.SseEventBuilder toSse(long reconnectMillis) {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat").reconnectTime(reconnectMillis);
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data);
+            return id != null ? builder.id(id) : builder;
+        }
+    }
+    
+    private final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+        
+        void offer(Event event) {
+            if (!queue.offer(event)) {
+                // It will reconnect with its last event id and catch up from the ring, or resync
+                drop(this, "send buffer full");
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                dispatch();
+            }
+        }
+        
+        private void dispatch() {
+            try {
+                dispatchExecutor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                draining.set(false);
+                drop(this, "dispatch queue full");
+            }
+        }
+        
+        private void drain() {
+            try {
+                Event event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(event.toSse(RECONNECT_MILLIS));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client gone or emitter already completed
+                queue.clear();
+                drop(this, e.getMessage());
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before the flag was cleared would otherwise wait for the next one
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                dispatch();
+            }
+        }
+    }
+}
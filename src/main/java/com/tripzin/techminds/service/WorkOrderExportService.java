@@ -0,0 +1,182 @@
+package com.tripzin.techminds.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.tripzin.techminds.entity.WorkOrder;
+import com.tripzin.techminds.exception.BadRequestException;
+import com.tripzin.techminds.exception.ServiceUnavailableException;
+import com.tripzin.techminds.repository.WorkOrderRepository;
+import com.tripzin.techminds.repository.WorkOrderRepositoryCustom;
+import com.tripzin.techminds.repository.spec.WorkOrderSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams filtered work orders as CSV or NDJSON. Rows flow from a forward-only database cursor
+ * through Jackson to the response one at a time, inside a single read-only transaction.
+ * At most {@code app.streaming.concurrency} exports run at once; each holds a database connection.
+ */
+@Service
+@Slf4j
+public class WorkOrderExportService {
+    
+    public enum Format {
+        CSV(WorkOrderImportService.TEXT_CSV, "csv"),
+        NDJSON(WorkOrderImportService.APPLICATION_NDJSON, "ndjson");
+        
+        private final MediaType mediaType;
+        private final String extension;
+        
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+        
+        public MediaType mediaType() {
+            return mediaType;
+        }
+        
+        public String filename() {
+            return "work-orders." + extension;
+        }
+        
+        public static Format from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown export format '" + value + "'; use csv or ndjson");
+            }
+        }
+    }
+    
+    private static final List<String> FIELDS = List.of(
+            "id", "woNumber", "workType", "client", "photoCount", "state", "clientDueDate", "updater",
+            "orderStatus", "remarkCategory", "startTime", "endTime", "numberOfBids", "bidAmount", "isRush",
+            "user", "createdAt", "updatedAt");
+    
+    private final WorkOrderRepository workOrderRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final CsvSchema csvSchema;
+    private final int fetchSize;
+    private final Semaphore running;
+    
+    public WorkOrderExportService(WorkOrderRepository workOrderRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.work-orders.export.fetch-size:1000}") int fetchSize,
+                                  @Value("${app.streaming.concurrency:4}") int concurrency) {
+        this.workOrderRepository = workOrderRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.running = new Semaphore(concurrency);
+        
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+        for (String field : FIELDS) {
+            if ("user".equals(field)) {
+                WorkOrderRepositoryCustom.USER_SUMMARY_FIELDS.forEach(userField -> schema.addColumn("user." + userField));
+            } else {
+                schema.addColumn(field);
+            }
+        }
+        this.csvSchema = schema.build();
+    }
+    
+    /**
+     * Reserves a slot for the export and returns the body that streams it, releasing the slot when done.
+     * Admission happens here, before the caller commits to the export's content headers, so a full server
+     * answers with an ordinary 503 error body.
+     *
+     * @throws ServiceUnavailableException if {@code app.streaming.concurrency} exports are already running
+     */
+    public StreamingResponseBody export(Map<String, String> filters, Format format, boolean gzip) {
+        Specification<WorkOrder> spec = WorkOrderSpecification.filterBy(filters);
+        if (!running.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports are running, please retry shortly");
+        }
+        return outputStream -> {
+            try {
+                stream(spec, format, gzip, outputStream);
+            } finally {
+                running.release();
+            }
+        };
+    }
+    
+    private void stream(Specification<WorkOrder> spec, Format format, boolean gzip, OutputStream outputStream)
+            throws IOException {
+        OutputStream out = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+        try (SequenceWriter writer = sequenceWriter(format, out)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Map<String, Object>> rows = workOrderRepository.streamFields(
+                        spec, Sort.by("id"), FIELDS, fetchSize)) {
+                    rows.forEach(row -> write(writer, format, row));
+                }
+            });
+        }
+        if (out instanceof GZIPOutputStream gzipOut) {
+            gzipOut.finish();
+        }
+    }
+    
+    private SequenceWriter sequenceWriter(Format format, OutputStream out) throws IOException {
+        if (format == Format.CSV) {
+            return csvMapper.writer(csvSchema).writeValues(out);
+        }
+        return objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+    }
+    
+    private void write(SequenceWriter writer, Format format, Map<String, Object> row) {
+        try {
+            writer.write(format == Format.CSV ? csvColumns(row) : row);
+        } catch (IOException e) {
+            // Usually the client went away; unwinding closes the cursor and ends the transaction
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<Object> csvColumns(Map<String, Object> row) {
+        List<Object> columns = new ArrayList<>(FIELDS.size() + WorkOrderRepositoryCustom.USER_SUMMARY_FIELDS.size());
+        row.forEach((field, value) -> {
+            if ("user".equals(field)) {
+                Map<String, Object> user = (Map<String, Object>) value;
+                WorkOrderRepositoryCustom.USER_SUMMARY_FIELDS.forEach(
+                        userField -> columns.add(user != null ? user.get(userField) : null));
+            } else {
+                columns.add(value);
+            }
+        });
+        return columns;
+    }
+}
@@ -0,0 +1,252 @@
+package com.tripzin.techminds.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.tripzin.techminds.dto.request.WorkOrderRequest;
+import com.tripzin.techminds.dto.response.WorkOrderImportReport;
+import com.tripzin.techminds.event.WorkOrderChangedEvent;
+import com.tripzin.techminds.exception.BadRequestException;
+import com.tripzin.techminds.repository.UserRepository;
+import com.tripzin.techminds.repository.WorkOrderJdbcRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streams work orders from a CSV or NDJSON body into the database. Rows are parsed one at a time,
+ * validated against the {@link WorkOrderRequest} constraints and inserted in JDBC batches, each batch
+ * in its own transaction, so memory stays flat however large the upload is.
+ */
+@Service
+@Slf4j
+public class WorkOrderImportService {
+    
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
+    private final WorkOrderJdbcRepository jdbcRepository;
+    private final UserRepository userRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader csvReader;
+    private final ObjectReader jsonReader;
+    private final int batchSize;
+    private final int maxErrors;
+    
+    public WorkOrderImportService(WorkOrderJdbcRepository jdbcRepository,
+                                  UserRepository userRepository,
+                                  Validator validator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.work-orders.import.batch-size:1000}") int batchSize,
+                                  @Value("${app.work-orders.import.max-errors:1000}") int maxErrors) {
+        this.jdbcRepository = jdbcRepository;
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        
+        CsvMapper csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        // Columns are bound by the names in the header line, in any order
+        this.csvReader = csvMapper.readerFor(WorkOrderRequest.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.jsonReader = objectMapper.readerFor(WorkOrderRequest.class);
+    }
+    
+    public WorkOrderImportReport importWorkOrders(InputStream body, MediaType contentType) throws IOException {
+        ObjectReader reader;
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            reader = csvReader;
+        } else if (APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            reader = jsonReader;
+        } else {
+            throw new BadRequestException("Import accepts text/csv or application/x-ndjson, not " + contentType);
+        }
+        
+        ImportRun run = new ImportRun();
+        try (MappingIterator<WorkOrderRequest> rows = reader.readValues(body)) {
+            boolean more = true;
+            while (more) {
+                more = readRow(rows, run);
+            }
+            flush(run);
+        } finally {
+            // Batches committed before a failure stay imported, so caches must still hear about them
+            if (run.imported > 0) {
+                eventPublisher.publishEvent(WorkOrderChangedEvent.bulk());
+            }
+        }
+        
+        log.info("Imported {} of {} work orders ({} rejected{})", run.imported, run.received, run.failed,
+                run.aborted ? ", aborted on malformed input" : "");
+        return new WorkOrderImportReport(run.received, run.imported, run.failed, run.aborted, run.errors);
+    }
+    
+    /**
+     * Reads, validates and queues one row, recording it in the report if rejected. Returns false at the end of input.
+     */
+    private boolean readRow(MappingIterator<WorkOrderRequest> rows, ImportRun run) {
+        WorkOrderRequest row;
+        try {
+            if (!rows.hasNextValue()) {
+                return false;
+            }
+            run.received++;
+            row = rows.nextValue();
+        } catch (MismatchedInputException e) {
+            // A value of the wrong type; the iterator skips to the next row
+            reject(run, run.received, null, List.of(e.getOriginalMessage()));
+            return true;
+        } catch (JsonProcessingException e) {
+            // Malformed CSV/JSON: the stream cannot be resynchronized, so stop here
+            reject(run, run.received, null, List.of("Malformed input: " + e.getOriginalMessage()));
+            run.aborted = true;
+            return false;
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read import body: " + e.getMessage());
+        }
+        
+        Set<ConstraintViolation<WorkOrderRequest>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            reject(run, run.received, row.getWoNumber(), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .toList());
+            return true;
+        }
+        
+        run.pending.add(row);
+        run.pendingRowNumbers.add(run.received);
+        if (run.pending.size() >= batchSize) {
+            flush(run);
+        }
+        return true;
+    }
+    
+    private void flush(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        // Taken off the run first, so a failure below can never have the same rows flushed again
+        List<WorkOrderRequest> pending = new ArrayList<>(run.pending);
+        List<Long> rowNumbers = new ArrayList<>(run.pendingRowNumbers);
+        run.pending.clear();
+        run.pendingRowNumbers.clear();
+        
+        List<WorkOrderRequest> batch = new ArrayList<>(pending.size());
+        List<Long> batchRowNumbers = new ArrayList<>(pending.size());
+        
+        // Resolve every referenced user of the batch in one query instead of one per row
+        Set<Long> userIds = new HashSet<>();
+        pending.forEach(row -> {
+            if (row.getUserId() != null) {
+                userIds.add(row.getUserId());
+            }
+        });
+        Set<Long> existingUserIds = userIds.isEmpty() ? Set.of() : userRepository.findExistingIds(userIds);
+        for (int i = 0; i < pending.size(); i++) {
+            WorkOrderRequest row = pending.get(i);
+            if (row.getUserId() != null && !existingUserIds.contains(row.getUserId())) {
+                reject(run, rowNumbers.get(i), row.getWoNumber(),
+                        List.of("userId " + row.getUserId() + " does not exist"));
+            } else {
+                batch.add(row);
+                batchRowNumbers.add(rowNumbers.get(i));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcRepository.insertBatch(batch, now));
+            run.imported += batch.size();
+        } catch (DataAccessException e) {
+            // Something validation could not catch; find the offending rows one at a time
+            log.debug("Import batch failed, retrying row by row: {}", e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                insertRow(run, batch.get(i), batchRowNumbers.get(i), now);
+            }
+        }
+    }
+    
+    private void insertRow(ImportRun run, WorkOrderRequest row, long rowNumber, LocalDateTime now) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcRepository.insertBatch(List.of(row), now));
+            run.imported++;
+        } catch (DataAccessException e) {
+            log.debug("Import row {} failed: {}", rowNumber, e.getMostSpecificCause().getMessage());
+            reject(run, rowNumber, row.getWoNumber(), List.of(rowFailure(e)));
+        }
+    }
+    
+    /**
+     * Describes a database rejection without echoing the driver message, which names constraints
+     * and columns and quotes the offending values.
+     */
+    static String rowFailure(DataAccessException e) {
+        String sqlState = e.getMostSpecificCause() instanceof SQLException sql ? sql.getSQLState() : null;
+        if (sqlState == null) {
+            return "could not be stored";
+        }
+        return switch (sqlState) {
+            case "23505" -> "duplicates an existing work order";
+            case "23503" -> "references a record that does not exist";
+            case "23502" -> "is missing a required value";
+            case "23514" -> "violates a data constraint";
+            case "22001" -> "has a value that is too long";
+            default -> sqlState.startsWith("22") ? "has an invalid value" : "could not be stored";
+        };
+    }
+    
+    private void reject(ImportRun run, long rowNumber, String woNumber, List<String> messages) {
+        run.failed++;
+        if (run.errors.size() < maxErrors) {
+            run.errors.add(new WorkOrderImportReport.RowError(rowNumber, woNumber, messages));
+        }
+    }
+    
+    private static final class ImportRun {
+        long received;
+        long imported;
+        long failed;
+        boolean aborted;
+        final List<WorkOrderImportReport.RowError> errors = new ArrayList<>();
+        final List<WorkOrderRequest> pending = new ArrayList<>();
+        final List<Long> pendingRowNumbers = new ArrayList<>();
+    }
+}
@@ -0,0 +1,33 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last hit of a search page, by (rank, id). Encoded as an opaque base64url token.
+ */
+record WorkOrderSearchCursor(float rank, Long id) {
+    
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    String encode() {
+        // Float.toString round-trips exactly, so the next page resumes on the same real value Postgres returned
+        String raw = Float.toString(rank) + ':' + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static WorkOrderSearchCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 2) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new WorkOrderSearchCursor(Float.parseFloat(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
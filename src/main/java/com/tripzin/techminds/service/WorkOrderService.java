@@ -1,25 +1,55 @@
 package com.tripzin.techminds.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tripzin.techminds.dto.request.CountMode;
 import com.tripzin.techminds.dto.request.WorkOrderRequest;
+import com.tripzin.techminds.dto.response.CursorPage;
 import com.tripzin.techminds.dto.response.MessageResponse;
 import com.tripzin.techminds.dto.response.WorkOrderResponse;
+import com.tripzin.techminds.dto.response.WorkOrderSearchResult;
 import com.tripzin.techminds.dto.response.WorkOrderStats;
 import com.tripzin.techminds.entity.User;
 import com.tripzin.techminds.entity.WorkOrder;
+import com.tripzin.techminds.event.WorkOrderChangedEvent;
+import com.tripzin.techminds.exception.BadRequestException;
+import com.tripzin.techminds.exception.ConflictException;
 import com.tripzin.techminds.exception.ResourceNotFoundException;
 import com.tripzin.techminds.repository.UserRepository;
 import com.tripzin.techminds.repository.WorkOrderRepository;
+import com.tripzin.techminds.repository.WorkOrderRepositoryCustom;
+import com.tripzin.techminds.repository.WorkOrderSearchHit;
 import com.tripzin.techminds.repository.spec.WorkOrderSpecification;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,25 +58,265 @@ public class WorkOrderService {
     
     private final WorkOrderRepository workOrderRepository;
     private final UserRepository userRepository;
+    private final WorkOrderCountCache countCache;
+    private final WorkOrderStatusCounters statusCounters;
+    private final WorkOrderChangeTracker changeTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
     
-    public Page<WorkOrderResponse> getAllWorkOrders(
+    @Value("${app.work-orders.max-page-size:100}")
+    private int maxPageSize;
+    
+    private ObjectReader patchReader;
+    
+    @PostConstruct
+    void init() {
+        // Unlike request bodies, a patch naming a field that does not exist is a client error, not noise
+        patchReader = objectMapper.reader().with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+    
+    public Slice<WorkOrderResponse> getAllWorkOrders(
             int page, 
             int size, 
             String sortBy, 
             String sortDir,
-            Map<String, String> filters) {
+            Map<String, String> filters,
+            CountMode countMode) {
         
         Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
+        Specification<WorkOrder> spec = WorkOrderSpecification.filterBy(filters)
+                .and(WorkOrderSpecification.withAssignedUser());
+        
+        if (countMode == CountMode.EXACT) {
+            return workOrderRepository.findAll(spec, pageable).map(WorkOrderResponse::fromEntity);
+        }
+        return withTotal(workOrderRepository.findSlice(spec, pageable), countMode, filters, spec)
+                .map(WorkOrderResponse::fromEntity);
+    }
+    
+    /**
+     * Same listing as {@link #getAllWorkOrders}, selecting only the requested fields.
+     */
+    public Slice<Map<String, Object>> getWorkOrderFields(
+            int page,
+            int size,
+            String sortBy,
+            String sortDir,
+            Map<String, String> filters,
+            CountMode countMode,
+            String fields) {
+        
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+        Pageable pageable = PageRequest.of(page, size, sort);
+        Specification<WorkOrder> spec = WorkOrderSpecification.filterBy(filters);
+        
+        Slice<Map<String, Object>> slice = workOrderRepository.findFields(spec, pageable, parseFields(fields));
+        if (countMode == CountMode.EXACT) {
+            return new PageImpl<>(slice.getContent(), pageable, workOrderRepository.count(spec));
+        }
+        return withTotal(slice, countMode, filters, spec);
+    }
+    
+    /**
+     * Adds a total to a slice as the count mode asks for; {@link CountMode#NONE} leaves it a slice.
+     */
+    private <T> Slice<T> withTotal(Slice<T> slice, CountMode countMode, Map<String, String> filters,
+                                   Specification<WorkOrder> spec) {
+        if (countMode == CountMode.NONE) {
+            return slice;
+        }
+        
+        Pageable pageable = slice.getPageable();
+        long total = countMode == CountMode.ESTIMATED && !hasFilters(filters)
+                ? workOrderRepository.estimateCount().orElseGet(workOrderRepository::count)
+                : countCache.count(filters, () -> workOrderRepository.count(spec));
+        // Keep the total consistent with what this page has already shown
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        if (slice.hasNext()) {
+            total = Math.max(total, seen + 1);
+        } else if (slice.hasContent() || pageable.getPageNumber() == 0) {
+            total = seen;
+        }
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+    
+    /**
+     * Keyset pagination: seeks past the cursor on the (sort column, id) index instead of skipping rows,
+     * and fetches one extra row to detect the next page rather than running a count.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CursorPage<?> getWorkOrdersAfter(
+            String cursor,
+            int size,
+            String sortBy,
+            String sortDir,
+            Map<String, String> filters,
+            String fields) {
+        
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        WorkOrderCursor.checkSortable(sortBy);
+        Sort.Direction direction = Sort.Direction.fromString(sortDir);
+        
+        Specification<WorkOrder> spec = WorkOrderSpecification.filterBy(filters);
+        if (cursor != null && !cursor.isBlank()) {
+            WorkOrderCursor position = WorkOrderCursor.decode(cursor);
+            if (!position.sortBy().equals(sortBy) || position.direction() != direction) {
+                throw new BadRequestException("Cursor was issued for a different sort order");
+            }
+            spec = spec.and(WorkOrderSpecification.after(sortBy, direction, (Comparable) position.value(), position.id()));
+        }
         
-        return workOrderRepository.findAll(
-                WorkOrderSpecification.filterBy(filters), 
-                pageable
-            ).map(WorkOrderResponse::fromEntity);
+        Sort sort = "id".equals(sortBy)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortBy, "id");
+        
+        if (fields != null && !fields.isBlank()) {
+            // The sort key is selected as well, since the next cursor is built from it
+            Set<String> fieldSet = parseFields(fields);
+            fieldSet.add(sortBy);
+            Slice<Map<String, Object>> slice = workOrderRepository.findFields(spec, PageRequest.of(0, size, sort), fieldSet);
+            String nextCursor = null;
+            if (slice.hasNext()) {
+                Map<String, Object> last = slice.getContent().get(size - 1);
+                nextCursor = new WorkOrderCursor(sortBy, direction, (Comparable<?>) last.get(sortBy), (Long) last.get("id"))
+                        .encode();
+            }
+            return new CursorPage<>(slice.getContent(), size, slice.hasNext(), nextCursor);
+        }
+        
+        Specification<WorkOrder> fetchSpec = spec.and(WorkOrderSpecification.withAssignedUser());
+        List<WorkOrder> rows = workOrderRepository.findBy(fetchSpec, query -> query.sortBy(sort).limit(size + 1).all());
+        
+        boolean hasNext = rows.size() > size;
+        List<WorkOrder> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? WorkOrderCursor.after(pageRows.get(size - 1), sortBy, direction).encode()
+                : null;
+        
+        List<WorkOrderResponse> content = pageRows.stream()
+                .map(WorkOrderResponse::fromEntity)
+                .toList();
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+    
+    /**
+     * Relevance-ranked full-text search over the search_vector column, continued by a (rank, id) cursor.
+     */
+    public CursorPage<WorkOrderSearchResult> searchWorkOrders(String query, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be empty");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        
+        List<WorkOrderSearchHit> hits;
+        if (cursor != null && !cursor.isBlank()) {
+            WorkOrderSearchCursor position = WorkOrderSearchCursor.decode(cursor);
+            hits = workOrderRepository.searchAfter(query, position.rank(), position.id(), size + 1);
+        } else {
+            hits = workOrderRepository.search(query, size + 1);
+        }
+        
+        boolean hasNext = hits.size() > size;
+        List<WorkOrderSearchHit> pageHits = hasNext ? hits.subList(0, size) : hits;
+        
+        Map<Long, WorkOrder> workOrders = workOrderRepository.findAllWithUserByIdIn(
+                        pageHits.stream().map(WorkOrderSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(WorkOrder::getId, Function.identity()));
+        
+        // Rows deleted between the two queries are dropped rather than failing the page
+        List<WorkOrderSearchResult> content = pageHits.stream()
+                .filter(hit -> workOrders.containsKey(hit.getId()))
+                .map(hit -> new WorkOrderSearchResult(
+                        WorkOrderResponse.fromEntity(workOrders.get(hit.getId())), hit.getRank(),
+                        highlightHtml(hit.getHighlight())))
+                .toList();
+        
+        String nextCursor = null;
+        if (hasNext) {
+            WorkOrderSearchHit last = pageHits.get(size - 1);
+            nextCursor = new WorkOrderSearchCursor(last.getRank(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+    
+    /**
+     * Escapes the user-entered text of a search headline, then marks the matched terms.
+     */
+    static String highlightHtml(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace(WorkOrderSearchHit.MATCH_START, "<mark>")
+                .replace(WorkOrderSearchHit.MATCH_END, "</mark>");
+    }
+    
+    public Map<String, Object> getWorkOrderFieldsById(Long id, String fields) {
+        Specification<WorkOrder> byId = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id"), id);
+        return workOrderRepository.findFields(byId, PageRequest.of(0, 1), parseFields(fields)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Work order not found with id: " + id));
+    }
+    
+    /**
+     * Entity tag for one work order, read without loading it; empty if the order does not exist.
+     */
+    public Optional<String> getWorkOrderETag(Long id) {
+        return workOrderRepository.findVersionById(id).map(version -> eTagOf(id, version));
+    }
+    
+    public static String eTagOf(Long id, long version) {
+        return weak(id + "-" + version);
+    }
+    
+    /**
+     * The version an {@code If-Match} header expects the work order to be at, or null if the header is
+     * absent or {@code *}.
+     */
+    public static Long versionFromETag(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        String prefix = id + "-";
+        try {
+            if (tag.startsWith(prefix)) {
+                return Long.parseLong(tag.substring(prefix.length()));
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new BadRequestException("If-Match does not name a version of work order " + id + ": " + ifMatch);
+    }
+    
+    /**
+     * Entity tag for listings and stats: changes whenever any work order is written.
+     */
+    public String getCollectionETag() {
+        return weak(changeTracker.tag());
+    }
+    
+    /**
+     * Tags are weak: the same version is served as JSON or CBOR, which are different bytes, and a strong
+     * validator would have to differ between them.
+     */
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
     }
     
     public WorkOrderResponse getWorkOrderById(Long id) {
-        WorkOrder workOrder = workOrderRepository.findById(id)
+        WorkOrder workOrder = workOrderRepository.findWithUserById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Work order not found with id: " + id));
         return WorkOrderResponse.fromEntity(workOrder);
     }
@@ -55,16 +325,75 @@ public class WorkOrderService {
     public WorkOrderResponse createWorkOrder(WorkOrderRequest request) {
         WorkOrder workOrder = mapRequestToEntity(request, new WorkOrder());
         WorkOrder savedWorkOrder = workOrderRepository.save(workOrder);
+        eventPublisher.publishEvent(new WorkOrderChangedEvent(savedWorkOrder.getId(), null, statusOf(savedWorkOrder)));
         return WorkOrderResponse.fromEntity(savedWorkOrder);
     }
     
+    /**
+     * Replaces every field of the work order. With an {@code expectedVersion}, a work order changed since
+     * the caller read it is rejected instead of overwritten.
+     */
     @Transactional
-    public WorkOrderResponse updateWorkOrder(Long id, WorkOrderRequest request) {
-        WorkOrder workOrder = workOrderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Work order not found with id: " + id));
+    public WorkOrderResponse updateWorkOrder(Long id, WorkOrderRequest request, Long expectedVersion) {
+        WorkOrder workOrder = findForUpdate(id, expectedVersion);
         
+        WorkOrderChangedEvent.Status before = statusOf(workOrder);
         WorkOrder updatedWorkOrder = mapRequestToEntity(request, workOrder);
-        WorkOrder savedWorkOrder = workOrderRepository.save(updatedWorkOrder);
+        // Flushed here so the response carries the incremented version
+        WorkOrder savedWorkOrder = workOrderRepository.saveAndFlush(updatedWorkOrder);
+        eventPublisher.publishEvent(new WorkOrderChangedEvent(id, before, statusOf(savedWorkOrder)));
+        return WorkOrderResponse.fromEntity(savedWorkOrder);
+    }
+    
+    /**
+     * Applies a JSON Merge Patch (RFC 7396) in terms of {@link WorkOrderRequest} fields: keys present are
+     * set, {@code null} clears, absent keys are left alone. The patched order must still pass request
+     * validation. Only changed columns are written. A {@code version} key in the patch is used as the
+     * expected version when no {@code expectedVersion} is given.
+     */
+    @Transactional
+    public WorkOrderResponse patchWorkOrder(Long id, JsonNode patch, Long expectedVersion) {
+        if (!(patch instanceof ObjectNode changes)) {
+            throw new BadRequestException("A merge patch must be a JSON object");
+        }
+        JsonNode version = changes.remove("version");
+        if (version != null && !version.isNull()) {
+            if (!version.isIntegralNumber() || !version.canConvertToLong()) {
+                throw new BadRequestException("version must be a whole number");
+            }
+            if (expectedVersion == null) {
+                expectedVersion = version.asLong();
+            }
+        }
+        
+        WorkOrder workOrder = findForUpdate(id, expectedVersion);
+        WorkOrderRequest request = toRequest(workOrder);
+        try {
+            patchReader.withValueToUpdate(request).readValue(changes);
+        } catch (IOException e) {
+            throw new BadRequestException("Invalid merge patch: "
+                    + (e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage()));
+        }
+        Set<ConstraintViolation<WorkOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        
+        WorkOrderChangedEvent.Status before = statusOf(workOrder);
+        copyFields(request, workOrder);
+        if (changes.has("userId")) {
+            Long currentUserId = workOrder.getUser() != null ? workOrder.getUser().getId() : null;
+            if (request.getUserId() == null) {
+                workOrder.setUser(null);
+            } else if (!request.getUserId().equals(currentUserId)) {
+                workOrder.setUser(findUser(request.getUserId()));
+            }
+        }
+        WorkOrder savedWorkOrder = workOrderRepository.saveAndFlush(workOrder);
+        eventPublisher.publishEvent(new WorkOrderChangedEvent(id, before, statusOf(savedWorkOrder)));
         return WorkOrderResponse.fromEntity(savedWorkOrder);
     }
     
@@ -74,26 +403,94 @@ public class WorkOrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Work order not found with id: " + id));
         
         workOrderRepository.delete(workOrder);
+        eventPublisher.publishEvent(new WorkOrderChangedEvent(id, statusOf(workOrder), null));
         return MessageResponse.success("Work order deleted successfully");
     }
     
     public WorkOrderStats getWorkOrderStats() {
-        long submitted = workOrderRepository.countByOrderStatus("Submitted");
-        long gcSnSubmitted = workOrderRepository.countByOrderStatusAndIsRush("Submitted", true);
-        long rtvFixed = workOrderRepository.countByOrderStatus("RTV Fixed");
-        long saved = workOrderRepository.countByOrderStatus("Saved");
-        long totalProcessed = workOrderRepository.count();
-        
-        return WorkOrderStats.builder()
-                .submitted(submitted)
-                .gcSnSubmitted(gcSnSubmitted)
-                .rtvFixed(rtvFixed)
-                .saved(saved)
-                .totalProcessed(totalProcessed)
+        return statusCounters.stats();
+    }
+    
+    private static WorkOrderChangedEvent.Status statusOf(WorkOrder workOrder) {
+        return new WorkOrderChangedEvent.Status(workOrder.getOrderStatus(), workOrder.isRush());
+    }
+    
+    /**
+     * Parses a comma-separated sparse fieldset. The id is always included so rows stay addressable.
+     */
+    private static Set<String> parseFields(String fields) {
+        Set<String> parsed = new LinkedHashSet<>();
+        parsed.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!WorkOrderRepositoryCustom.SELECTABLE_FIELDS.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'; selectable fields are "
+                        + new TreeSet<>(WorkOrderRepositoryCustom.SELECTABLE_FIELDS));
+            }
+            parsed.add(name);
+        }
+        return parsed;
+    }
+    
+    private static boolean hasFilters(Map<String, String> filters) {
+        return !WorkOrderSpecification.appliedFilters(filters).isEmpty();
+    }
+    
+    /**
+     * Loads a work order to change it, rejecting the change up front if it is no longer at the expected
+     * version. A concurrent write after this check still fails the versioned update at flush.
+     */
+    private WorkOrder findForUpdate(Long id, Long expectedVersion) {
+        WorkOrder workOrder = workOrderRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Work order not found with id: " + id));
+        if (expectedVersion != null && expectedVersion != workOrder.getVersion()) {
+            throw new ConflictException("Work order " + id + " is at version " + workOrder.getVersion()
+                    + ", not " + expectedVersion + "; reload it and retry");
+        }
+        return workOrder;
+    }
+    
+    private User findUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    }
+    
+    private static WorkOrderRequest toRequest(WorkOrder workOrder) {
+        return WorkOrderRequest.builder()
+                .woNumber(workOrder.getWoNumber())
+                .workType(workOrder.getWorkType())
+                .client(workOrder.getClient())
+                .photoCount(workOrder.getPhotoCount())
+                .state(workOrder.getState())
+                .clientDueDate(workOrder.getClientDueDate())
+                .updater(workOrder.getUpdater())
+                .orderStatus(workOrder.getOrderStatus())
+                .remarkCategory(workOrder.getRemarkCategory())
+                .startTime(workOrder.getStartTime())
+                .endTime(workOrder.getEndTime())
+                .numberOfBids(workOrder.getNumberOfBids())
+                .bidAmount(workOrder.getBidAmount())
+                .isRush(workOrder.isRush())
+                .userId(workOrder.getUser() != null ? workOrder.getUser().getId() : null)
                 .build();
     }
     
     private WorkOrder mapRequestToEntity(WorkOrderRequest request, WorkOrder workOrder) {
+        copyFields(request, workOrder);
+        if (request.getUserId() != null) {
+            workOrder.setUser(findUser(request.getUserId()));
+        }
+        return workOrder;
+    }
+    
+    /**
+     * Copies the scalar fields. Setting a field to its current value leaves it clean, so with dynamic
+     * updates only the columns that actually changed are written.
+     */
+    private static void copyFields(WorkOrderRequest request, WorkOrder workOrder) {
         workOrder.setWoNumber(request.getWoNumber());
         workOrder.setWorkType(request.getWorkType());
         workOrder.setClient(request.getClient());
@@ -108,13 +505,5 @@ public class WorkOrderService {
         workOrder.setNumberOfBids(request.getNumberOfBids());
         workOrder.setBidAmount(request.getBidAmount());
         workOrder.setRush(request.isRush());
-        
-        if (request.getUserId() != null) {
-            User user = userRepository.findById(request.getUserId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getUserId()));
-            workOrder.setUser(user);
-        }
-        
-        return workOrder;
     }
 }
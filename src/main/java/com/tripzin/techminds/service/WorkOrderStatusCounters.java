@@ -0,0 +1,171 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.dto.response.WorkOrderStats;
+import com.tripzin.techminds.event.WorkOrderChangedEvent;
+import com.tripzin.techminds.event.WorkOrderChangedEvent.Status;
+import com.tripzin.techminds.repository.WorkOrderRepository;
+import com.tripzin.techminds.repository.WorkOrderStatusCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Work-order counts per (order status, rush), kept in memory so the dashboard stats never hit the
+ * database. Committed writes adjust the counts by their status delta; a periodic reconciliation
+ * against a single GROUP BY query corrects any drift, e.g. from writes made outside this instance.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkOrderStatusCounters {
+    
+    private final WorkOrderRepository workOrderRepository;
+    private static final int MAX_RECONCILE_ATTEMPTS = 3;
+    
+    private final WorkOrderChangeTracker changeTracker;
+    
+    // Null until the first reconciliation
+    private volatile Map<Status, Long> counts;
+    
+    // Latest updated_at seen by the previous reconciliation
+    private LocalDateTime lastWrite;
+    
+    // Set by a bulk change, which the incremental counts cannot follow, until a reconciliation succeeds
+    private volatile boolean stale;
+    
+    public WorkOrderStats stats() {
+        Map<Status, Long> current = counts;
+        if (current == null || stale) {
+            reconcile();
+            current = counts;
+        }
+        return summarize(current);
+    }
+    
+    /**
+     * How {@link #stats()} moves when one work order goes from {@code before} to {@code after};
+     * either may be null for a create or delete.
+     */
+    public static WorkOrderStats delta(Status before, Status after) {
+        Map<Status, Long> change = new HashMap<>();
+        if (before != null) {
+            change.merge(before, -1L, Long::sum);
+        }
+        if (after != null) {
+            change.merge(after, 1L, Long::sum);
+        }
+        return summarize(change);
+    }
+    
+    private static WorkOrderStats summarize(Map<Status, Long> counts) {
+        long submitted = 0;
+        long gcSnSubmitted = 0;
+        long rtvFixed = 0;
+        long saved = 0;
+        long total = 0;
+        for (Map.Entry<Status, Long> entry : counts.entrySet()) {
+            Status status = entry.getKey();
+            long count = entry.getValue();
+            total += count;
+            switch (String.valueOf(status.orderStatus())) {
+                case "Submitted" -> {
+                    submitted += count;
+                    if (status.rush()) {
+                        gcSnSubmitted += count;
+                    }
+                }
+                case "RTV Fixed" -> rtvFixed += count;
+                case "Saved" -> saved += count;
+                default -> {
+                }
+            }
+        }
+        
+        return WorkOrderStats.builder()
+                .submitted(submitted)
+                .gcSnSubmitted(gcSnSubmitted)
+                .rtvFixed(rtvFixed)
+                .saved(saved)
+                .totalProcessed(total)
+                .build();
+    }
+    
+    /**
+     * Replaces the counts with a fresh GROUP BY. Retried a few times if work orders change while it runs;
+     * if they keep changing, counts marked stale are reconciled again on the next read.
+     */
+    @Scheduled(fixedDelayString = "${app.work-orders.stats-reconcile-interval:60000}",
+               initialDelayString = "${app.work-orders.stats-reconcile-interval:60000}")
+    public void reconcile() {
+        for (int attempt = 1; attempt <= MAX_RECONCILE_ATTEMPTS; attempt++) {
+            if (tryReconcile()) {
+                return;
+            }
+        }
+        log.debug("Work orders kept changing during reconciliation{}", stale ? ", retrying on the next read" : "");
+    }
+    
+    private boolean tryReconcile() {
+        long generation = changeTracker.generation();
+        LocalDateTime latestWrite = workOrderRepository.findLastUpdatedAt();
+        Map<Status, Long> fresh = new ConcurrentHashMap<>();
+        for (WorkOrderStatusCount row : workOrderRepository.countByStatusAndRush()) {
+            fresh.merge(new Status(row.getOrderStatus(), Boolean.TRUE.equals(row.getRush())), row.getTotal(), Long::sum);
+        }
+        
+        synchronized (this) {
+            // A write committed during the query may or may not be in it; keep the adjusted counts and retry later
+            if (counts != null && changeTracker.generation() != generation) {
+                if (stale) {
+                    // The incremental counts miss the bulk change entirely; these are off by a concurrent write at most
+                    counts = fresh;
+                }
+                return false;
+            }
+            Map<Status, Long> previous = counts;
+            counts = fresh;
+            boolean drifted = previous != null && !previous.equals(fresh);
+            if (drifted) {
+                log.info("Reconciled work-order status counters: {} -> {}", previous, fresh);
+            }
+            // Drift or a newer updated_at means writes this instance did not see (local ones only advance it
+            // once more), so tags and caches keyed by the generation must move on
+            boolean writtenSince = previous != null && !Objects.equals(lastWrite, latestWrite);
+            lastWrite = latestWrite;
+            if (drifted || writtenSince) {
+                changeTracker.advance();
+            }
+            stale = false;
+            return true;
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkOrderChanged(WorkOrderChangedEvent event) {
+        if (event.isBulk()) {
+            stale = true;
+            reconcile();
+            return;
+        }
+        synchronized (this) {
+            Map<Status, Long> current = counts;
+            if (current == null) {
+                return;
+            }
+            if (event.before() != null) {
+                current.merge(event.before(), -1L, Long::sum);
+            }
+            if (event.after() != null) {
+                current.merge(event.after(), 1L, Long::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- Bumped whenever security-relevant user state changes so issued tokens can be invalidated
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
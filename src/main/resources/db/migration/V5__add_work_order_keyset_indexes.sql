@@ -0,0 +1,11 @@
+-- Composite (sort column, id) indexes for keyset pagination on GET /api/work-orders.
+-- Each one also serves plain lookups on its leading column, replacing the single-column indexes.
+DROP INDEX IF EXISTS idx_work_orders_status;
+DROP INDEX IF EXISTS idx_work_orders_client;
+DROP INDEX IF EXISTS idx_work_orders_due_date;
+
+CREATE INDEX idx_work_orders_status_id ON work_orders(order_status, id);
+CREATE INDEX idx_work_orders_client_id ON work_orders(client, id);
+CREATE INDEX idx_work_orders_due_date_id ON work_orders(client_due_date, id);
+CREATE INDEX idx_work_orders_wo_number_id ON work_orders(wo_number, id);
+CREATE INDEX idx_work_orders_work_type_id ON work_orders(work_type, id);
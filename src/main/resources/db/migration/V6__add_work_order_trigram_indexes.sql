@@ -0,0 +1,9 @@
+-- Trigram indexes for the substring filters on GET /api/work-orders, which match
+-- lower(column) LIKE '%value%'. The indexed expressions must stay identical to the
+-- ones WorkOrderSpecification emits.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_work_orders_wo_number_trgm ON work_orders USING gin (lower(wo_number) gin_trgm_ops);
+CREATE INDEX idx_work_orders_work_type_trgm ON work_orders USING gin (lower(work_type) gin_trgm_ops);
+CREATE INDEX idx_work_orders_client_trgm ON work_orders USING gin (lower(client) gin_trgm_ops);
+CREATE INDEX idx_work_orders_updater_trgm ON work_orders USING gin (lower(updater) gin_trgm_ops);
@@ -0,0 +1,11 @@
+-- Full-text search over the free-text columns for GET /api/work-orders/search.
+-- Identifiers weigh most, then client and work type, then remarks and updater.
+ALTER TABLE work_orders ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(wo_number, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(client, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(work_type, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(remark_category, '')), 'C') ||
+    setweight(to_tsvector('english', coalesce(updater, '')), 'D')
+) STORED;
+
+CREATE INDEX idx_work_orders_search_vector ON work_orders USING gin (search_vector);
@@ -0,0 +1,42 @@
+-- Daily work-order aggregates for GET /api/work-orders/analytics, keyed by creation day and every
+-- groupable dimension. Maintained incrementally by WorkOrderAnalyticsService: days touched since the
+-- updated_at watermark, and days recorded by the delete trigger, are re-aggregated from work_orders.
+CREATE TABLE work_order_daily_rollup (
+    day DATE NOT NULL,
+    client VARCHAR(100) NOT NULL,
+    order_status VARCHAR(50) NOT NULL,
+    state VARCHAR(10) NOT NULL,  -- '' when the work order has no state
+    work_type VARCHAR(100) NOT NULL,
+    order_count BIGINT NOT NULL,
+    rush_count BIGINT NOT NULL,
+    bid_sum NUMERIC(16, 2) NOT NULL,
+    PRIMARY KEY (day, client, order_status, state, work_type)
+);
+
+CREATE TABLE work_order_rollup_state (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    watermark TIMESTAMP  -- null until the first full build
+);
+
+INSERT INTO work_order_rollup_state (id, watermark) VALUES (1, NULL);
+
+-- Deleted rows leave no updated_at behind, so their day is queued for re-aggregation instead
+CREATE TABLE work_order_rollup_dirty_days (
+    day DATE PRIMARY KEY
+);
+
+CREATE FUNCTION work_orders_mark_rollup_day_dirty() RETURNS trigger AS $$
+BEGIN
+    IF OLD.created_at IS NOT NULL THEN
+        INSERT INTO work_order_rollup_dirty_days (day) VALUES (OLD.created_at::date) ON CONFLICT DO NOTHING;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_work_orders_rollup_delete
+    AFTER DELETE ON work_orders
+    FOR EACH ROW EXECUTE FUNCTION work_orders_mark_rollup_day_dirty();
+
+CREATE INDEX idx_work_orders_updated_at ON work_orders(updated_at);
+CREATE INDEX idx_work_orders_created_at ON work_orders(created_at);
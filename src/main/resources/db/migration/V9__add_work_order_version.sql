@@ -0,0 +1,2 @@
+-- Optimistic-lock version, bumped by every update so concurrent edits are detected instead of overwritten
+ALTER TABLE work_orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
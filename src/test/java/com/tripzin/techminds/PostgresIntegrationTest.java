@@ -0,0 +1,69 @@
+package com.tripzin.techminds;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Base for tests against a real Postgres with the Flyway migrations applied. The container is shared
+ * by every subclass, so they also share one application context; tests are skipped without Docker.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+    
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+    
+    static {
+        POSTGRES.start();
+    }
+    
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    protected Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    /**
+     * Runs the action and returns the number of JDBC statements it prepared.
+     */
+    protected long countStatements(Runnable action) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+    
+    protected long insertUser(String email, String phone, String... roles) {
+        Long id = jdbcTemplate.queryForObject("""
+                INSERT INTO users (first_name, last_name, email, phone, password, email_verified, account_verified)
+                VALUES ('Test', 'User', ?, ?, 'x', true, true)
+                RETURNING id""", Long.class, email, phone);
+        for (String role : roles) {
+            jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = ?",
+                    id, role);
+        }
+        return id;
+    }
+    
+    protected void insertWorkOrders(int count, String client, Long userId) {
+        jdbcTemplate.update("""
+                INSERT INTO work_orders (wo_number, work_type, client, client_due_date, order_status, user_id)
+                SELECT 'WO-' || n, 'Inspection', ?, DATE '2025-01-01' + (n % 365), 'Submitted', ?
+                FROM generate_series(1, ?) AS n""", client, userId, count);
+    }
+}
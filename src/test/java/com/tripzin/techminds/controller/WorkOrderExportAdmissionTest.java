@@ -0,0 +1,72 @@
+package com.tripzin.techminds.controller;
+
+import com.tripzin.techminds.exception.GlobalExceptionHandler;
+import com.tripzin.techminds.exception.ServiceUnavailableException;
+import com.tripzin.techminds.service.WorkOrderAnalyticsService;
+import com.tripzin.techminds.service.WorkOrderBulkService;
+import com.tripzin.techminds.service.WorkOrderEventStream;
+import com.tripzin.techminds.service.WorkOrderExportService;
+import com.tripzin.techminds.service.WorkOrderImportService;
+import com.tripzin.techminds.service.WorkOrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A busy server must answer an export with a plain JSON 503, not a 500 carrying the export's headers.
+ */
+class WorkOrderExportAdmissionTest {
+    
+    private final WorkOrderExportService exportService = mock(WorkOrderExportService.class);
+    
+    private MockMvc mockMvc;
+    
+    @BeforeEach
+    void setUp() {
+        WorkOrderController controller = new WorkOrderController(
+                mock(WorkOrderService.class),
+                mock(WorkOrderAnalyticsService.class),
+                mock(WorkOrderImportService.class),
+                mock(WorkOrderBulkService.class),
+                exportService,
+                mock(WorkOrderEventStream.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(exportService.export(any(), any(), anyBoolean()))
+                .thenThrow(new ServiceUnavailableException("Too many exports are running, please retry shortly"));
+    }
+    
+    @Test
+    void fullExportAnswers503WithoutStreamHeaders() throws Exception {
+        mockMvc.perform(get("/api/work-orders/export").param("format", "csv")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+    
+    @Test
+    void fullNdjsonListingAnswers503() throws Exception {
+        mockMvc.perform(get("/api/work-orders")
+                        .accept(MediaType.parseMediaType("application/x-ndjson"))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+}
@@ -0,0 +1,25 @@
+package com.tripzin.techminds.dto.request;
+
+import com.tripzin.techminds.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountModeTest {
+    
+    @Test
+    void parsesNamesCaseInsensitively() {
+        assertThat(CountMode.from("exact")).isEqualTo(CountMode.EXACT);
+        assertThat(CountMode.from("None")).isEqualTo(CountMode.NONE);
+        assertThat(CountMode.from("ESTIMATED")).isEqualTo(CountMode.ESTIMATED);
+        assertThat(CountMode.from("cached")).isEqualTo(CountMode.CACHED);
+    }
+    
+    @Test
+    void rejectsUnknownModes() {
+        assertThatThrownBy(() -> CountMode.from("approximate"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("approximate");
+    }
+}
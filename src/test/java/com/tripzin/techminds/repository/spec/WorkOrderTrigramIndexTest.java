@@ -0,0 +1,53 @@
+package com.tripzin.techminds.repository.spec;
+
+import com.tripzin.techminds.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WorkOrderTrigramIndexTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @BeforeAll
+    void fillTable() {
+        jdbcTemplate.update("""
+                INSERT INTO work_orders (wo_number, work_type, client, updater, client_due_date, order_status)
+                SELECT 'TRGM-' || n, 'Trigram type ' || n, 'Trigram client ' || n, 'Trigram updater ' || n,
+                       DATE '2025-01-01', 'Saved'
+                FROM generate_series(1, 20000) AS n""");
+        jdbcTemplate.execute("ANALYZE work_orders");
+    }
+    
+    /**
+     * The plan for the predicate shape {@code WorkOrderSpecification.contains} emits, with a value that
+     * matches a single row. Sequential scans are disabled so the outcome does not hinge on how the planner
+     * costs a table this small.
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "wo_number, idx_work_orders_wo_number_trgm",
+            "work_type, idx_work_orders_work_type_trgm",
+            "client, idx_work_orders_client_trgm",
+            "updater, idx_work_orders_updater_trgm"})
+    void substringFilterUsesTheTrigramIndex(String column, String index) {
+        List<String> plan = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList(
+                    "EXPLAIN SELECT id FROM work_orders WHERE lower(" + column + ") LIKE '%12345%' ESCAPE '\\'",
+                    String.class);
+        });
+        
+        assertThat(String.join("\n", plan)).contains(index).doesNotContain("Seq Scan");
+    }
+}
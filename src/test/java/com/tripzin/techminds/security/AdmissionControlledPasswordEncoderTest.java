@@ -0,0 +1,79 @@
+package com.tripzin.techminds.security;
+
+import com.tripzin.techminds.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlledPasswordEncoderTest {
+    
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+    
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+    
+    @Test
+    void hashesOnTheExecutor() {
+        AdmissionControlledPasswordEncoder encoder = encoder(4, Duration.ofSeconds(1), Duration.ofSeconds(5));
+        
+        String hash = encoder.encode("secret");
+        
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("other", hash)).isFalse();
+    }
+    
+    @Test
+    void rejectsWhenTheQueueIsFull() throws InterruptedException {
+        AdmissionControlledPasswordEncoder encoder = encoder(0, Duration.ofSeconds(1), Duration.ofSeconds(5));
+        occupyWorker();
+        
+        assertThatThrownBy(() -> encoder.encode("secret"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessage("Authentication service is busy, please retry shortly");
+    }
+    
+    @Test
+    void answersATimedOutHashWithTheSame503() throws InterruptedException {
+        AdmissionControlledPasswordEncoder encoder = encoder(4, Duration.ofMillis(50), Duration.ofMillis(100));
+        occupyWorker();
+        
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> encoder.encode("secret"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessage("Authentication service is busy, please retry shortly");
+        
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+    
+    private AdmissionControlledPasswordEncoder encoder(int queueCapacity, Duration maxQueueTime, Duration hashTimeout) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return new AdmissionControlledPasswordEncoder(4, executor, maxQueueTime, hashTimeout);
+    }
+    
+    private void occupyWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+    }
+}
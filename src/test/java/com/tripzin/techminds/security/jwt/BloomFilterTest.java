@@ -0,0 +1,52 @@
+package com.tripzin.techminds.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+    
+    @Test
+    void alwaysContainsAddedValues() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        var added = IntStream.range(0, 1_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+        
+        added.forEach(filter::add);
+        
+        assertThat(added).allMatch(filter::mightContain);
+    }
+    
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        
+        assertThat(filter.mightContain("jti")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+    
+    @Test
+    void keepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+        
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("valid-" + i))
+                .count();
+        
+        // Well above the expected ~1% so the check is not sensitive to the hash's exact spread
+        assertThat(falsePositives).isLessThan(3_000);
+    }
+    
+    @Test
+    void toleratesDegenerateSizing() {
+        BloomFilter filter = new BloomFilter(0, 0.5);
+        filter.add("a");
+        
+        assertThat(filter.mightContain("a")).isTrue();
+    }
+}
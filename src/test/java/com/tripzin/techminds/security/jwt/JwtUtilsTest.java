@@ -0,0 +1,58 @@
+package com.tripzin.techminds.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+    
+    private final JwtUtils jwtUtils = new JwtUtils();
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes()));
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 3);
+        jwtUtils.init();
+    }
+    
+    @Test
+    void reusesVerifiedClaims() {
+        String token = jwtUtils.generateTokenFromUsername("alice", 60_000);
+        
+        Claims first = jwtUtils.verifyJwtToken(token).orElseThrow();
+        
+        assertThat(jwtUtils.verifyJwtToken(token)).containsSame(first);
+    }
+    
+    @Test
+    void staysWithinItsSizeUnderDistinctTokens() {
+        IntStream.range(0, 10).forEach(i -> {
+            String token = jwtUtils.generateTokenFromUsername("user" + i, 60_000);
+            assertThat(jwtUtils.verifyJwtToken(token)).isPresent();
+            assertThat(verifiedTokens()).hasSizeLessThanOrEqualTo(3);
+        });
+        
+        String latest = jwtUtils.generateTokenFromUsername("latest", 60_000);
+        Claims claims = jwtUtils.verifyJwtToken(latest).orElseThrow();
+        assertThat(jwtUtils.verifyJwtToken(latest)).containsSame(claims);
+    }
+    
+    @Test
+    void rejectsATamperedToken() {
+        String token = jwtUtils.generateTokenFromUsername("alice", 60_000);
+        
+        assertThat(jwtUtils.verifyJwtToken(token.substring(0, token.length() - 2) + "xx")).isEmpty();
+    }
+    
+    private Map<?, ?> verifiedTokens() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(jwtUtils, "verifiedTokens");
+    }
+}
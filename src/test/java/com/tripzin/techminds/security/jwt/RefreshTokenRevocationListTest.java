@@ -0,0 +1,97 @@
+package com.tripzin.techminds.security.jwt;
+
+import com.tripzin.techminds.PostgresIntegrationTest;
+import com.tripzin.techminds.repository.RevokedRefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenRevocationListTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private RefreshTokenRevocationList revocationList;
+    
+    @Autowired
+    private RevokedRefreshTokenRepository repository;
+    
+    private long userId;
+    private final Date expiration = Date.from(Instant.now().plus(Duration.ofDays(7)));
+    
+    @BeforeEach
+    void createUser() {
+        long suffix = ThreadLocalRandom.current().nextLong(1_000_000_000L);
+        userId = insertUser("revoke" + suffix + "@example.com", "+33" + suffix, "ROLE_USER");
+    }
+    
+    @Test
+    void revokesATokenIdOnlyOnce() {
+        String jti = UUID.randomUUID().toString();
+        
+        assertThat(revocationList.revoke(jti, userId, expiration)).isTrue();
+        assertThat(revocationList.revoke(jti, userId, expiration)).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM revoked_refresh_tokens WHERE jti = ?",
+                Long.class, jti)).isEqualTo(1);
+    }
+    
+    @Test
+    void answersRevokedIdsFromMemory() {
+        String jti = UUID.randomUUID().toString();
+        revocationList.revoke(jti, userId, expiration);
+        
+        assertThat(countStatements(() -> assertThat(revocationList.isRevoked(jti)).isTrue())).isZero();
+    }
+    
+    @Test
+    void rejectsAnIdAlreadyRevokedByAnotherInstance() {
+        String jti = UUID.randomUUID().toString();
+        revokeElsewhere(jti);
+        
+        assertThat(revocationList.revoke(jti, userId, expiration)).isFalse();
+        assertThat(countStatements(() -> assertThat(revocationList.isRevoked(jti)).isTrue())).isZero();
+    }
+    
+    @Test
+    void mirrorsIdsRevokedElsewhereOnSync() {
+        String jti = UUID.randomUUID().toString();
+        revokeElsewhere(jti);
+        
+        revocationList.syncFromDatabase();
+        
+        assertThat(countStatements(() -> assertThat(revocationList.isRevoked(jti)).isTrue())).isZero();
+    }
+    
+    @Test
+    void confirmsBloomHitsMissingLocallyAgainstTheDatabase() {
+        RefreshTokenRevocationList list = new RefreshTokenRevocationList(repository, 1, 0.5);
+        list.load();
+        // Every bit set: each lookup is a Bloom hit, as for a false positive or an id not synced yet
+        BloomFilter saturated = new BloomFilter(1, 0.5);
+        for (int i = 0; i < 1_000; i++) {
+            saturated.add(UUID.randomUUID().toString());
+        }
+        ReflectionTestUtils.setField(list, "filter", saturated);
+        String revokedElsewhere = UUID.randomUUID().toString();
+        revokeElsewhere(revokedElsewhere);
+        String valid = UUID.randomUUID().toString();
+        
+        assertThat(countStatements(() -> assertThat(list.isRevoked(valid)).isFalse())).isEqualTo(1);
+        assertThat(countStatements(() -> assertThat(list.isRevoked(revokedElsewhere)).isTrue())).isEqualTo(1);
+        // Remembered after the first confirmation
+        assertThat(countStatements(() -> assertThat(list.isRevoked(revokedElsewhere)).isTrue())).isZero();
+    }
+    
+    private void revokeElsewhere(String jti) {
+        jdbcTemplate.update("INSERT INTO revoked_refresh_tokens (jti, user_id, expires_at) VALUES (?, ?, ?)",
+                jti, userId, Timestamp.from(expiration.toInstant()));
+    }
+}
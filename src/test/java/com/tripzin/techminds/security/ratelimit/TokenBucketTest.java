@@ -0,0 +1,57 @@
+package com.tripzin.techminds.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    @Test
+    void allowsAFullBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(5, SECOND, 0);
+        
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 5);
+    }
+    
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(5, SECOND, 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(0);
+        }
+        
+        long interval = SECOND / 5;
+        assertThat(bucket.tryAcquire(interval - 1)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(interval)).isZero();
+        assertThat(bucket.tryAcquire(interval)).isEqualTo(interval);
+    }
+    
+    @Test
+    void doesNotAccumulateMoreThanCapacityWhileIdle() {
+        TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+        long later = 10 * SECOND;
+        
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+    
+    @Test
+    void isIdleOnceFullyRefilled() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+        assertThat(bucket.isIdle(0)).isTrue();
+        
+        bucket.tryAcquire(0);
+        assertThat(bucket.isIdle(0)).isFalse();
+        assertThat(bucket.isIdle(SECOND / 2 - 1)).isFalse();
+        assertThat(bucket.isIdle(SECOND / 2)).isTrue();
+    }
+}
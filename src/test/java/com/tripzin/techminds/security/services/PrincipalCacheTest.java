@@ -0,0 +1,138 @@
+package com.tripzin.techminds.security.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrincipalCacheTest {
+    
+    private final AtomicInteger loads = new AtomicInteger();
+    
+    private final Function<String, UserDetailsImpl> loader = username -> {
+        loads.incrementAndGet();
+        return principal(username.hashCode() & 0xffffL, username);
+    };
+    
+    @Test
+    void servesRepeatLookupsFromTheCache() {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+        
+        UserDetailsImpl first = cache.get("ann@example.com", loader);
+        UserDetailsImpl second = cache.get("ann@example.com", loader);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+    
+    @Test
+    void reloadsExpiredEntries() {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ZERO);
+        
+        cache.get("ann@example.com", loader);
+        cache.get("ann@example.com", loader);
+        
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+    
+    @Test
+    void evictsOnlyTheChangedUser() {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+        cache.get("ann", username -> principal(1L, username));
+        cache.get("bob", username -> principal(2L, username));
+        
+        cache.evictUser(1L);
+        
+        assertThat(cache.stats().size()).isEqualTo(1);
+        cache.get("bob", loader);
+        cache.get("ann", loader);
+        assertThat(loads).hasValue(1);
+    }
+    
+    @Test
+    void evictAllEmptiesTheCache() {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+        cache.get("ann", loader);
+        cache.get("bob", loader);
+        
+        cache.evictAll();
+        
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+    }
+    
+    @Test
+    void staysWithinMaxSize() {
+        PrincipalCache cache = new PrincipalCache(3, Duration.ofMinutes(5));
+        
+        for (int i = 0; i < 10; i++) {
+            cache.get("user" + i, loader);
+        }
+        
+        assertThat(cache.stats().size()).isEqualTo(3);
+        assertThat(cache.stats().evictions()).isEqualTo(7);
+    }
+    
+    @Test
+    void doesNotCacheFailedLoads() {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+        
+        assertThatThrownBy(() -> cache.get("ann", username -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+        
+        cache.get("ann", loader);
+        assertThat(loads).hasValue(1);
+    }
+    
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        PrincipalCache cache = new PrincipalCache(10, Duration.ofMinutes(5));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, UserDetailsImpl> slowLoader = username -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.apply(username);
+        };
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<UserDetailsImpl> first = executor.submit(() -> cache.get("ann", slowLoader));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<UserDetailsImpl>> others = List.of(
+                    executor.submit(() -> cache.get("ann", slowLoader)),
+                    executor.submit(() -> cache.get("ann", slowLoader)));
+            release.countDown();
+            
+            UserDetailsImpl principal = first.get(5, TimeUnit.SECONDS);
+            for (Future<UserDetailsImpl> other : others) {
+                assertThat(other.get(5, TimeUnit.SECONDS)).isSameAs(principal);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private static UserDetailsImpl principal(Long id, String email) {
+        return new UserDetailsImpl(id, "First", "Last", email, null, "secret", true, true, 0, List.of());
+    }
+}
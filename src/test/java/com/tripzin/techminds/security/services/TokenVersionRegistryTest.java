@@ -0,0 +1,71 @@
+package com.tripzin.techminds.security.services;
+
+import com.tripzin.techminds.event.UserSecurityChangedEvent;
+import com.tripzin.techminds.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenVersionRegistryTest {
+    
+    private final UserRepository userRepository = mock(UserRepository.class);
+    
+    @Test
+    void cachesTheVersionWithinItsTtl() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3));
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 100, Duration.ofMinutes(5));
+        
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+        assertThat(registry.isCurrent(1L, 2)).isFalse();
+        
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+    
+    @Test
+    void reloadsWhenATokenIsNewerThanTheCachedVersion() {
+        // Another instance bumped the version and issued a new token; no local event was seen
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3), Optional.of(4));
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 100, Duration.ofMinutes(5));
+        registry.isCurrent(1L, 3);
+        
+        assertThat(registry.isCurrent(1L, 4)).isTrue();
+        assertThat(registry.isCurrent(1L, 3)).isFalse();
+        verify(userRepository, times(2)).findTokenVersionById(1L);
+    }
+    
+    @Test
+    void reloadsExpiredVersions() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3), Optional.of(4));
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 100, Duration.ZERO);
+        
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+        assertThat(registry.isCurrent(1L, 3)).isFalse();
+    }
+    
+    @Test
+    void dropsVersionsOnLocalChanges() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3), Optional.of(4));
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 100, Duration.ofMinutes(5));
+        registry.isCurrent(1L, 3);
+        
+        registry.onUserSecurityChanged(new UserSecurityChangedEvent(1L));
+        
+        assertThat(registry.isCurrent(1L, 3)).isFalse();
+    }
+    
+    @Test
+    void rejectsTokensOfDeletedUsers() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.empty());
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, 100, Duration.ofMinutes(5));
+        
+        assertThat(registry.isCurrent(1L, 0)).isFalse();
+    }
+}
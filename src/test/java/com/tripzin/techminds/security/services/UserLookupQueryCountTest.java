@@ -0,0 +1,73 @@
+package com.tripzin.techminds.security.services;
+
+import com.tripzin.techminds.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserLookupQueryCountTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+    
+    @Autowired
+    private PrincipalCache principalCache;
+    
+    private String email;
+    private String phone;
+    
+    @BeforeEach
+    void createUser() {
+        long suffix = ThreadLocalRandom.current().nextLong(1_000_000_000L);
+        email = "lookup" + suffix + "@example.com";
+        phone = "+1" + suffix;
+        insertUser(email, phone, "ROLE_USER", "ROLE_ADMIN");
+        principalCache.evictAll();
+    }
+    
+    @Test
+    void loadsByEmailWithRolesAndPermissionsInOneStatement() {
+        UserDetails[] principal = new UserDetails[1];
+        
+        long statements = countStatements(() -> principal[0] = userDetailsService.loadUserByUsername(email));
+        
+        assertThat(statements).isEqualTo(1);
+        assertThat(principal[0].getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .contains("ROLE_USER", "ROLE_ADMIN", "READ_USER");
+    }
+    
+    @Test
+    void loadsByPhoneInOneStatement() {
+        UserDetails[] principal = new UserDetails[1];
+        
+        long statements = countStatements(() -> principal[0] = userDetailsService.loadUserByUsername(phone));
+        
+        assertThat(statements).isEqualTo(1);
+        assertThat(principal[0].getUsername()).isEqualTo(email);
+    }
+    
+    @Test
+    void missesInOneStatement() {
+        long statements = countStatements(() -> assertThatThrownBy(
+                () -> userDetailsService.loadUserByUsername("nobody@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class));
+        
+        assertThat(statements).isEqualTo(1);
+    }
+    
+    @Test
+    void cachedPrincipalsNeedNoStatement() {
+        userDetailsService.loadUserByUsername(email);
+        
+        assertThat(countStatements(() -> userDetailsService.loadUserByUsername(email))).isZero();
+    }
+}
@@ -0,0 +1,44 @@
+package com.tripzin.techminds.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkOrderCountCacheTest {
+    
+    private final WorkOrderChangeTracker changeTracker = new WorkOrderChangeTracker();
+    private final WorkOrderCountCache cache = new WorkOrderCountCache(changeTracker);
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+    }
+    
+    @Test
+    void reusesCountsUntilTheNextWrite() {
+        assertThat(cache.count(Map.of("client", "acme"), () -> 5)).isEqualTo(5);
+        assertThat(cache.count(Map.of("client", "acme"), () -> 6)).isEqualTo(5);
+        
+        changeTracker.advance();
+        
+        assertThat(cache.count(Map.of("client", "acme"), () -> 6)).isEqualTo(6);
+    }
+    
+    @Test
+    void ignoresParametersTheSpecificationDoesNotApply() {
+        cache.count(Map.of("client", "acme"), () -> 5);
+        
+        assertThat(cache.count(Map.of("client", "acme", "_", "123", "orderStatus", ""), () -> 6)).isEqualTo(5);
+    }
+    
+    @Test
+    void keepsFilterSetsThatPrintAlikeApart() {
+        cache.count(Map.of("client", "x, orderStatus=Saved"), () -> 5);
+        
+        assertThat(cache.count(Map.of("client", "x", "orderStatus", "Saved"), () -> 6)).isEqualTo(6);
+    }
+}
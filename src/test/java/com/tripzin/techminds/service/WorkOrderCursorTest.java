@@ -0,0 +1,69 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.entity.WorkOrder;
+import com.tripzin.techminds.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkOrderCursorTest {
+    
+    @Test
+    void roundTripsTheLastRowOfAPage() {
+        WorkOrder last = WorkOrder.builder().id(42L).clientDueDate(LocalDate.of(2024, 3, 1)).build();
+        
+        WorkOrderCursor cursor = WorkOrderCursor.after(last, "clientDueDate", Sort.Direction.DESC);
+        WorkOrderCursor decoded = WorkOrderCursor.decode(cursor.encode());
+        
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.value()).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(decoded.id()).isEqualTo(42L);
+    }
+    
+    @Test
+    void keepsColonsInStringSortKeys() {
+        WorkOrder last = WorkOrder.builder().id(7L).client("Acme: North:East").build();
+        
+        WorkOrderCursor decoded = WorkOrderCursor.decode(
+                WorkOrderCursor.after(last, "client", Sort.Direction.ASC).encode());
+        
+        assertThat(decoded.value()).isEqualTo("Acme: North:East");
+        assertThat(decoded.direction()).isEqualTo(Sort.Direction.ASC);
+    }
+    
+    @Test
+    void encodesAsUrlSafeTokens() {
+        WorkOrder last = WorkOrder.builder().id(1L).woNumber("??>>~~").build();
+        
+        String token = WorkOrderCursor.after(last, "woNumber", Sort.Direction.ASC).encode();
+        
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+    
+    @Test
+    void rejectsUnsortableColumns() {
+        assertThatThrownBy(() -> WorkOrderCursor.checkSortable("notes"))
+                .isInstanceOf(BadRequestException.class);
+    }
+    
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> WorkOrderCursor.decode("not base64!")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> WorkOrderCursor.decode(token("id:ASC:1"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> WorkOrderCursor.decode(token("notes:ASC:1:x"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> WorkOrderCursor.decode(token("id:SIDEWAYS:1:1"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> WorkOrderCursor.decode(token("id:ASC:x:1"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> WorkOrderCursor.decode(token("clientDueDate:ASC:1:yesterday")))
+                .isInstanceOf(BadRequestException.class);
+    }
+    
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,63 @@
+package com.tripzin.techminds.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripzin.techminds.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkOrderETagTest {
+    
+    @Test
+    void tagsAreWeakAndNameIdAndVersion() {
+        assertThat(WorkOrderService.eTagOf(12L, 3)).isEqualTo("W/\"12-3\"");
+    }
+    
+    @Test
+    void readsTheVersionBackFromAnIssuedTag() {
+        assertThat(WorkOrderService.versionFromETag(12L, WorkOrderService.eTagOf(12L, 3))).isEqualTo(3L);
+    }
+    
+    @Test
+    void acceptsStrongAndUnquotedForms() {
+        assertThat(WorkOrderService.versionFromETag(12L, "\"12-4\"")).isEqualTo(4L);
+        assertThat(WorkOrderService.versionFromETag(12L, " 12-5 ")).isEqualTo(5L);
+    }
+    
+    @Test
+    void absentOrWildcardIfMatchSkipsTheCheck() {
+        assertThat(WorkOrderService.versionFromETag(12L, null)).isNull();
+        assertThat(WorkOrderService.versionFromETag(12L, "  ")).isNull();
+        assertThat(WorkOrderService.versionFromETag(12L, "*")).isNull();
+    }
+    
+    @Test
+    void rejectsTagsOfOtherWorkOrders() {
+        assertThatThrownBy(() -> WorkOrderService.versionFromETag(12L, "W/\"1-3\""))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> WorkOrderService.versionFromETag(1L, "W/\"12-3\""))
+                .isInstanceOf(BadRequestException.class);
+    }
+    
+    @Test
+    void rejectsTagsWithoutANumericVersion() {
+        assertThatThrownBy(() -> WorkOrderService.versionFromETag(12L, "W/\"12-abc\""))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> WorkOrderService.versionFromETag(12L, "W/\"12-\""))
+                .isInstanceOf(BadRequestException.class);
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"version\":\"3\"}", "{\"version\":\"abc\"}", "{\"version\":1.5}",
+            "{\"version\":true}", "{\"version\":99999999999999999999}"})
+    void rejectsAPatchVersionThatIsNotAWholeNumber(String patch) throws Exception {
+        WorkOrderService service = new WorkOrderService(null, null, null, null, null, null, new ObjectMapper(), null);
+        
+        assertThatThrownBy(() -> service.patchWorkOrder(12L, new ObjectMapper().readTree(patch), null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("version must be a whole number");
+    }
+}
@@ -0,0 +1,57 @@
+package com.tripzin.techminds.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tripzin.techminds.exception.ServiceUnavailableException;
+import com.tripzin.techminds.repository.WorkOrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkOrderExportServiceTest {
+    
+    private final WorkOrderRepository workOrderRepository = mock(WorkOrderRepository.class);
+    
+    private final WorkOrderExportService exportService = new WorkOrderExportService(
+            workOrderRepository, mock(PlatformTransactionManager.class), new ObjectMapper(), 100, 1);
+    
+    @Test
+    void rejectsExportsBeyondTheConcurrencyLimit() {
+        exportService.export(Map.of(), WorkOrderExportService.Format.CSV, false);
+        
+        assertThatThrownBy(() -> exportService.export(Map.of(), WorkOrderExportService.Format.NDJSON, false))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+    
+    @Test
+    void releasesTheSlotOnceTheExportHasStreamed() throws Exception {
+        when(workOrderRepository.streamFields(any(), any(), any(), anyInt())).thenReturn(Stream.empty());
+        StreamingResponseBody body = exportService.export(Map.of(), WorkOrderExportService.Format.CSV, false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        body.writeTo(out);
+        
+        assertThat(out.toString()).startsWith("id,woNumber");
+        assertThat(exportService.export(Map.of(), WorkOrderExportService.Format.CSV, false)).isNotNull();
+    }
+    
+    @Test
+    void releasesTheSlotWhenTheExportFails() throws Exception {
+        when(workOrderRepository.streamFields(any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalStateException("connection lost"));
+        StreamingResponseBody body = exportService.export(Map.of(), WorkOrderExportService.Format.CSV, false);
+        
+        assertThatThrownBy(() -> body.writeTo(new ByteArrayOutputStream())).isInstanceOf(IllegalStateException.class);
+        assertThat(exportService.export(Map.of(), WorkOrderExportService.Format.CSV, false)).isNotNull();
+    }
+}
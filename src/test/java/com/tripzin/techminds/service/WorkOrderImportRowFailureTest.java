@@ -0,0 +1,38 @@
+package com.tripzin.techminds.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataRetrievalFailureException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkOrderImportRowFailureTest {
+    
+    @Test
+    void mapsCommonSqlStatesToNeutralMessages() {
+        assertThat(failure("23505")).isEqualTo("duplicates an existing work order");
+        assertThat(failure("23503")).isEqualTo("references a record that does not exist");
+        assertThat(failure("23514")).isEqualTo("violates a data constraint");
+        assertThat(failure("22001")).isEqualTo("has a value that is too long");
+        assertThat(failure("22007")).isEqualTo("has an invalid value");
+        assertThat(failure("40001")).isEqualTo("could not be stored");
+    }
+    
+    @Test
+    void neverEchoesTheDriverMessage() {
+        SQLException cause = new SQLException("new row violates check constraint \"secret_rule\"", "23514");
+        
+        String message = WorkOrderImportService.rowFailure(new DataIntegrityViolationException("insert failed", cause));
+        
+        assertThat(message).doesNotContain("secret_rule");
+        assertThat(WorkOrderImportService.rowFailure(new DataRetrievalFailureException("no SQL state")))
+                .isEqualTo("could not be stored");
+    }
+    
+    private static String failure(String sqlState) {
+        SQLException cause = new SQLException("driver detail", sqlState);
+        return WorkOrderImportService.rowFailure(new DataIntegrityViolationException("insert failed", cause));
+    }
+}
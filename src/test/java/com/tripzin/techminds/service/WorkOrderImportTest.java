@@ -0,0 +1,81 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.PostgresIntegrationTest;
+import com.tripzin.techminds.dto.response.WorkOrderImportReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkOrderImportTest extends PostgresIntegrationTest {
+    
+    @Autowired
+    private WorkOrderImportService importService;
+    
+    private String client;
+    
+    @BeforeEach
+    void rejectOneWorkOrderNumberInTheDatabase() {
+        client = "Import " + UUID.randomUUID();
+        // A failure only the database reports, to exercise the row-by-row retry of a failed batch
+        jdbcTemplate.execute("ALTER TABLE work_orders ADD CONSTRAINT test_import_reject CHECK (wo_number <> 'DB-REJECT')");
+    }
+    
+    @AfterEach
+    void dropConstraint() {
+        jdbcTemplate.execute("ALTER TABLE work_orders DROP CONSTRAINT IF EXISTS test_import_reject");
+    }
+    
+    @Test
+    void importsValidCsvRowsAndReportsTheRest() throws IOException {
+        String csv = """
+                woNumber,workType,client,state,clientDueDate,orderStatus,userId
+                WO-1,Inspection,%1$s,TX,2025-02-01,Submitted,
+                WO-2,Inspection,%1$s,TOO-LONG-STATE,2025-02-01,Submitted,
+                WO-3,Inspection,%1$s,TX,2025-02-01,Submitted,999999999
+                WO-4,Inspection,%1$s,TX,2025-02-01,Saved,
+                DB-REJECT,Inspection,%1$s,TX,2025-02-01,Saved,
+                """.formatted(client);
+        
+        WorkOrderImportReport report = importService.importWorkOrders(body(csv), WorkOrderImportService.TEXT_CSV);
+        
+        assertThat(report.received()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.failed()).isEqualTo(3);
+        assertThat(report.aborted()).isFalse();
+        assertThat(report.errors()).extracting(WorkOrderImportReport.RowError::row).containsExactly(2L, 3L, 5L);
+        assertThat(report.errors().get(0).messages()).anyMatch(message -> message.startsWith("state "));
+        assertThat(report.errors().get(1).messages()).containsExactly("userId 999999999 does not exist");
+        assertThat(report.errors().get(2).messages()).containsExactly("violates a data constraint");
+        assertThat(jdbcTemplate.queryForList("SELECT wo_number FROM work_orders WHERE client = ? ORDER BY wo_number",
+                String.class, client)).containsExactly("WO-1", "WO-4");
+    }
+    
+    @Test
+    void keepsRowsReadBeforeMalformedNdjson() throws IOException {
+        String ndjson = """
+                {"woNumber":"WO-1","workType":"Inspection","client":"%1$s","clientDueDate":"2025-02-01","orderStatus":"Saved"}
+                {"woNumber":"WO-2","workType":
+                """.formatted(client);
+        
+        WorkOrderImportReport report = importService.importWorkOrders(body(ndjson), WorkOrderImportService.APPLICATION_NDJSON);
+        
+        assertThat(report.aborted()).isTrue();
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM work_orders WHERE client = ?", Long.class, client))
+                .isEqualTo(1);
+    }
+    
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.PostgresIntegrationTest;
+import com.tripzin.techminds.dto.request.CountMode;
+import com.tripzin.techminds.dto.response.WorkOrderResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkOrderListQueryCountTest extends PostgresIntegrationTest {
+    
+    private static final int USERS = 5;
+    private static final int ORDERS_PER_USER = 20;
+    
+    @Autowired
+    private WorkOrderService workOrderService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate readOnly;
+    private String client;
+    private final List<Long> workOrderIds = new ArrayList<>();
+    
+    @BeforeEach
+    void createWorkOrders() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        
+        client = "Client " + UUID.randomUUID();
+        workOrderIds.clear();
+        for (int i = 0; i < USERS; i++) {
+            long suffix = ThreadLocalRandom.current().nextLong(1_000_000_000L);
+            long userId = insertUser("list" + suffix + "@example.com", "+44" + suffix, "ROLE_USER");
+            insertWorkOrders(ORDERS_PER_USER, client, userId);
+        }
+        workOrderIds.addAll(jdbcTemplate.queryForList("SELECT id FROM work_orders WHERE client = ?", Long.class, client));
+    }
+    
+    /**
+     * One select for the page with its users, one batch for the users' roles, whatever the page size.
+     * Runs in a transaction as requests do under open-session-in-view.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {10, 50, 100})
+    void listsAPageInAFixedNumberOfStatements(int size) {
+        List<Slice<WorkOrderResponse>> page = new ArrayList<>();
+        
+        long statements = countStatements(() -> readOnly.executeWithoutResult(status -> page.add(
+                workOrderService.getAllWorkOrders(0, size, "id", "asc", Map.of("client", client), CountMode.NONE))));
+        
+        assertThat(page.get(0).getContent()).hasSize(size);
+        assertThat(page.get(0).getContent()).allSatisfy(order -> assertThat(order.getUser().getRoles()).contains("ROLE_USER"));
+        assertThat(statements).isEqualTo(2);
+    }
+    
+    @Test
+    void exactCountAddsOneStatement() {
+        long statements = countStatements(() -> readOnly.executeWithoutResult(status ->
+                workOrderService.getAllWorkOrders(0, 50, "id", "asc", Map.of("client", client), CountMode.EXACT)));
+        
+        assertThat(statements).isEqualTo(3);
+    }
+    
+    @Test
+    void loadsOneWorkOrderWithItsUserInOneStatement() {
+        WorkOrderResponse[] response = new WorkOrderResponse[1];
+        
+        long statements = countStatements(() -> response[0] = workOrderService.getWorkOrderById(workOrderIds.get(0)));
+        
+        assertThat(response[0].getUser()).isNotNull();
+        assertThat(statements).isEqualTo(1);
+    }
+}
@@ -0,0 +1,25 @@
+package com.tripzin.techminds.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkOrderSearchHighlightTest {
+    
+    @Test
+    void marksMatchedTerms() {
+        assertThat(WorkOrderService.highlightHtml("WO-1 | \u0002Acme\u0003 roofing"))
+                .isEqualTo("WO-1 | <mark>Acme</mark> roofing");
+    }
+    
+    @Test
+    void escapesUserEnteredMarkup() {
+        assertThat(WorkOrderService.highlightHtml("<img src=x onerror=alert(1)> \u0002acme\u0003 & co"))
+                .isEqualTo("&lt;img src=x onerror=alert(1)&gt; <mark>acme</mark> &amp; co");
+    }
+    
+    @Test
+    void leavesMissingHeadlinesNull() {
+        assertThat(WorkOrderService.highlightHtml(null)).isNull();
+    }
+}
@@ -0,0 +1,125 @@
+package com.tripzin.techminds.service;
+
+import com.tripzin.techminds.dto.response.WorkOrderStats;
+import com.tripzin.techminds.event.WorkOrderChangedEvent;
+import com.tripzin.techminds.event.WorkOrderChangedEvent.Status;
+import com.tripzin.techminds.repository.WorkOrderRepository;
+import com.tripzin.techminds.repository.WorkOrderStatusCount;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkOrderStatusCountersTest {
+    
+    private final WorkOrderRepository workOrderRepository = mock(WorkOrderRepository.class);
+    private final WorkOrderChangeTracker changeTracker = new WorkOrderChangeTracker();
+    private final WorkOrderStatusCounters counters = new WorkOrderStatusCounters(workOrderRepository, changeTracker);
+    
+    @Test
+    void bulkChangeRetriesAReconciliationThatRacedAWrite() {
+        when(workOrderRepository.countByStatusAndRush()).thenReturn(List.of(count("Saved", 10)));
+        counters.stats();
+        
+        when(workOrderRepository.countByStatusAndRush())
+                .thenAnswer(invocation -> {
+                    changeTracker.advance();
+                    return List.of(count("Saved", 2));
+                })
+                .thenReturn(List.of(count("Saved", 3)));
+        counters.onWorkOrderChanged(WorkOrderChangedEvent.bulk());
+        
+        assertThat(counters.stats().getSaved()).isEqualTo(3);
+    }
+    
+    @Test
+    void bulkChangeRacingEveryAttemptStillReplacesTheCounts() {
+        when(workOrderRepository.countByStatusAndRush()).thenReturn(List.of(count("Saved", 10)));
+        counters.stats();
+        
+        when(workOrderRepository.countByStatusAndRush()).thenAnswer(invocation -> {
+            changeTracker.advance();
+            return List.of(count("Saved", 2));
+        });
+        counters.onWorkOrderChanged(WorkOrderChangedEvent.bulk());
+        
+        // Stale until a reconciliation completes undisturbed, which the next read attempts
+        when(workOrderRepository.countByStatusAndRush()).thenReturn(List.of(count("Saved", 4)));
+        assertThat(counters.stats().getSaved()).isEqualTo(4);
+        assertThat(counters.stats().getSaved()).isEqualTo(4);
+    }
+    
+    @Test
+    void singleChangesAdjustTheCountsInMemory() {
+        when(workOrderRepository.countByStatusAndRush()).thenReturn(List.of(count("Saved", 10)));
+        counters.stats();
+        
+        counters.onWorkOrderChanged(new WorkOrderChangedEvent(1L, new Status("Saved", false), new Status("RTV Fixed", false)));
+        
+        assertThat(counters.stats()).isEqualTo(new WorkOrderStats(0, 0, 1, 9, 10));
+    }
+    
+    private static WorkOrderStatusCount count(String orderStatus, long total) {
+        return new WorkOrderStatusCount() {
+            @Override
+            public String getOrderStatus() {
+                return orderStatus;
+            }
+            
+            @Override
+            public Boolean getRush() {
+                return false;
+            }
+            
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+    
+    @Test
+    void createCountsTheNewStatus() {
+        WorkOrderStats delta = WorkOrderStatusCounters.delta(null, new Status("Submitted", true));
+        
+        assertThat(delta).isEqualTo(new WorkOrderStats(1, 1, 0, 0, 1));
+    }
+    
+    @Test
+    void deleteUncountsTheOldStatus() {
+        WorkOrderStats delta = WorkOrderStatusCounters.delta(new Status("Saved", false), null);
+        
+        assertThat(delta).isEqualTo(new WorkOrderStats(0, 0, 0, -1, -1));
+    }
+    
+    @Test
+    void statusChangeMovesOneOrderBetweenBuckets() {
+        WorkOrderStats delta = WorkOrderStatusCounters.delta(new Status("Submitted", false), new Status("RTV Fixed", false));
+        
+        assertThat(delta).isEqualTo(new WorkOrderStats(-1, 0, 1, 0, 0));
+    }
+    
+    @Test
+    void rushFlagAloneOnlyMovesTheRushBucket() {
+        WorkOrderStats delta = WorkOrderStatusCounters.delta(new Status("Submitted", false), new Status("Submitted", true));
+        
+        assertThat(delta).isEqualTo(new WorkOrderStats(0, 1, 0, 0, 0));
+    }
+    
+    @Test
+    void unchangedStatusIsANoOp() {
+        Status status = new Status("Saved", false);
+        
+        assertThat(WorkOrderStatusCounters.delta(status, status)).isEqualTo(new WorkOrderStats());
+    }
+    
+    @Test
+    void untrackedStatusesOnlyAffectTheTotal() {
+        WorkOrderStats delta = WorkOrderStatusCounters.delta(null, new Status(null, false));
+        
+        assertThat(delta).isEqualTo(new WorkOrderStats(0, 0, 0, 0, 1));
+    }
+}